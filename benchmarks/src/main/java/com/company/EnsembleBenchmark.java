@@ -0,0 +1,81 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// The ensemble solver against M independent solves of the same initial conditions, on one thread so only the
+// lane-wise layout is compared. vector combines the stages with the Vector API, scalar with plain loops
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules", "jdk.incubator.vector"})
+public class EnsembleBenchmark {
+
+    @Param({"euler", "improved-euler", "runge-kutta"})
+    public String method;
+
+    @Param({"vector", "scalar", "independent"})
+    public String mode;
+
+    @Param({"64", "4096"})
+    public int M;
+
+    @Param({"1000"})
+    public int N;
+
+    private DESolver solver;
+    private EnsembleSolver ensemble;
+    private ForkJoinPool pool;
+    private double[] y0s;
+
+    @Setup
+    public void setUp() {
+        switch (method) {
+            case "euler": solver = new EulerMethod(Main.F); break;
+            case "improved-euler": solver = new ImprovedEulerMethod(Main.F); break;
+            case "runge-kutta": solver = new RungeKuttaMethod(Main.F); break;
+            default: throw new IllegalArgumentException("Unknown method " + method);
+        }
+        y0s = new double[M];
+        for (int k = 0; k < M; k++) {
+            y0s[k] = Main.DEFAULT_y0 + k * 0.001;
+        }
+        pool = new ForkJoinPool(1);
+        ensemble = new EnsembleSolver(solver, pool, mode.equals("vector"));
+        if (mode.equals("vector") && !ensemble.isVectorized()) {
+            throw new IllegalStateException("Vector API is not available");
+        }
+
+        // Every lane should be the scalar solve of its initial condition, bit for bit
+        EnsembleSolution solution = ensemble.solve(Main.DEFAULT_x0, y0s, Main.DEFAULT_X, N);
+        for (int k = 0; k < M; k++) {
+            double[] ys = solver.solve(Main.DEFAULT_x0, y0s[k], Main.DEFAULT_X, N);
+            for (int i = 0; i <= N; i++) {
+                if (Double.doubleToRawLongBits(solution.get(k, i)) != Double.doubleToRawLongBits(ys[i])) {
+                    throw new IllegalStateException("Lane " + k + " differs from the scalar solve at step " + i);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object solve() {
+        if (!mode.equals("independent")) {
+            return ensemble.solve(Main.DEFAULT_x0, y0s, Main.DEFAULT_X, N);
+        }
+        double[][] trajectories = new double[M][];
+        for (int k = 0; k < M; k++) {
+            trajectories[k] = solver.solve(Main.DEFAULT_x0, y0s[k], Main.DEFAULT_X, N);
+        }
+        return trajectories;
+    }
+}
@@ -0,0 +1,19 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Reported by JMH as evaluations of f per second next to the primary ops/s score
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Evaluations {
+    public long evaluations;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        evaluations = 0;
+    }
+}
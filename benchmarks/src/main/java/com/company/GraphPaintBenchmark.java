@@ -0,0 +1,71 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Paints the errors graph (seven polylines, as in the GUI) into an off-screen image
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GraphPaintBenchmark {
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 600;
+    private static final Color[] COLORS = {Color.RED, Color.GREEN, Color.CYAN, Color.BLUE, Color.MAGENTA, Color.ORANGE, Color.PINK};
+
+    @Param({"11", "10000", "1000000"})
+    public int N;
+
+    private JGridGraph graph;
+    private double[][] polylines;
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        graph = new JGridGraph("x", "e", Main.DEFAULT_x0, Main.DEFAULT_X, N+1);
+        graph.setSize(WIDTH, HEIGHT);
+        polylines = new double[COLORS.length][N+1];
+        for (int p = 0; p < COLORS.length; p++) {
+            for (int i = 0; i <= N; i++) {
+                polylines[p][i] = Math.sin(i * (p + 1) * 0.001) * Math.exp(i * 7.0 / N);
+            }
+        }
+        addPolylines();
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void addPolylines() {
+        for (int p = 0; p < polylines.length; p++) {
+            graph.addPolyline(polylines[p], COLORS[p], "Polyline " + p);
+        }
+    }
+
+    // Repaint without changes, served from the rendering cache
+    @Benchmark
+    public BufferedImage paint() {
+        return paintInto();
+    }
+
+    // Repaint after new data, everything is rendered again
+    @Benchmark
+    public BufferedImage paintNewGrid() {
+        graph.clearAndSetNewGrid(Main.DEFAULT_x0, Main.DEFAULT_X, N+1);
+        addPolylines();
+        return paintInto();
+    }
+
+    private BufferedImage paintInto() {
+        Graphics2D g = image.createGraphics();
+        try {
+            graph.paintComponent(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,43 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Parareal against the sequential Runge-Kutta solve it replaces, slices = 0 is the sequential solve
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PararealBenchmark {
+
+    @Param({"0", "4", "16", "64"})
+    public int slices;
+
+    @Param({"1048576"})
+    public int N;
+
+    private DESolver fine;
+    private PararealSolver parareal;
+
+    @Setup
+    public void setUp() {
+        fine = new RungeKuttaMethod(Main.F);
+        if (slices > 0) {
+            parareal = new PararealSolver(new EulerMethod(Main.F), 8, fine, slices, PararealSolver.DEFAULT_TOLERANCE, ForkJoinPool.commonPool());
+        }
+    }
+
+    @Benchmark
+    public double[] solve(PararealIterations iterations) {
+        if (parareal == null) {
+            return fine.solve(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X, N);
+        }
+        PararealSolution solution = parareal.solve(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X, N);
+        iterations.iterations += solution.iterations;
+        return solution.ys;
+    }
+}
@@ -0,0 +1,19 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Reported by JMH as Parareal iterations per second, divided by ops/s it is the number of iterations per solve
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class PararealIterations {
+    public long iterations;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        iterations = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+// Numeric part of Main.solveAndDisplay: solutions, errors and the convergence study, without any Swing components
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PipelineBenchmark {
+
+    @Param({"11", "100", "1000"})
+    public int N;
+
+    private EvaluationCounter f;
+    private SolvePipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        f = new EvaluationCounter(Main.F);
+        pipeline = new SolvePipeline(
+                new SolutionDisplayInfo(new ExactMethod(), Color.RED, "Exact solution"),
+                new SolutionDisplayInfo[]{
+                        new SolutionDisplayInfo(new EulerMethod(f), Color.GREEN, "Euler's method"),
+                        new SolutionDisplayInfo(new ImprovedEulerMethod(f), Color.CYAN, "Improved Euler's method"),
+                        new SolutionDisplayInfo(new RungeKuttaMethod(f), Color.BLUE, "Runge-Kutta method"),
+                }
+        );
+    }
+
+    @Benchmark
+    public SolvePipeline.Result solveAll(Evaluations evaluations) {
+        long before = f.getEvaluations();
+        SolvePipeline.Result result = pipeline.run(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X, N);
+        evaluations.evaluations += f.getEvaluations() - before;
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.company;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SolverBenchmark {
+
+    // adaptive-dp is tuned to the error of runge-kutta at the end of the same grid, so their evaluations per solve
+    // are compared at equal error
+    @Param({"euler", "improved-euler", "runge-kutta", "tableau-rk4", "adaptive-dp", "exact"})
+    public String method;
+
+    @Param({"10", "1000", "100000"})
+    public int N;
+
+    // Hand-written lambda or the same equation compiled from text
+    @Param({"lambda", "compiled"})
+    public String rhs;
+
+    private EvaluationCounter f;
+    private DESolver solver;
+
+    @Setup
+    public void setUp() {
+        f = new EvaluationCounter(rhs.equals("compiled") ? ExpressionCompiler.compile(Main.DEFAULT_EQUATION) : Main.F);
+        switch (method) {
+            case "euler": solver = new EulerMethod(f); break;
+            case "improved-euler": solver = new ImprovedEulerMethod(f); break;
+            case "runge-kutta": solver = new RungeKuttaMethod(f); break;
+            case "tableau-rk4": solver = new ExplicitRungeKuttaMethod(f, ButcherTableau.RK4); break;
+            case "adaptive-dp": solver = new AdaptiveDormandPrinceMethod(f, equalErrorTolerance(), equalErrorTolerance()); break;
+            case "exact": solver = new ExactMethod(); break;
+            default: throw new IllegalArgumentException("Unknown method " + method);
+        }
+    }
+
+    // Largest tolerance, halved from 1e-3, at which the adaptive error at X is at most the one of Runge-Kutta with N steps
+    private double equalErrorTolerance() {
+        double exact = new ClosedFormReference().bind(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X).valueAt(Main.DEFAULT_X);
+        double[] ys = new RungeKuttaMethod(Main.F).solve(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X, N);
+        double target = Math.abs(ys[N] - exact);
+        double tolerance = 1e-3;
+        while (tolerance > 1e-14) {
+            AdaptiveSolution solution = new DormandPrinceMethod(Main.F, tolerance, tolerance).solveAdaptive(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X);
+            if (Math.abs(solution.ys[solution.size() - 1] - exact) <= target) break;
+            tolerance /= 2;
+        }
+        return tolerance;
+    }
+
+    @Benchmark
+    public double[] solve(Evaluations evaluations) {
+        long before = f.getEvaluations();
+        double[] ys = solver.solve(Main.DEFAULT_x0, Main.DEFAULT_y0, Main.DEFAULT_X, N);
+        evaluations.evaluations += f.getEvaluations() - before;
+        return ys;
+    }
+}
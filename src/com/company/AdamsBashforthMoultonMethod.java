@@ -0,0 +1,78 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Fourth order Adams-Bashforth predictor with Adams-Moulton corrector in PECE mode, started by Runge-Kutta steps.
+// Slopes of the last four points are kept in a ring buffer, so each step evaluates f only twice
+//   predict  y* = y(i) + h/24*(55f(i) - 59f(i-1) + 37f(i-2) - 9f(i-3))
+//   correct  y(i+1) = y(i) + h/24*(9f(x(i+1), y*) + 19f(i) - 5f(i-1) + f(i-2))
+public class AdamsBashforthMoultonMethod extends DESolver {
+    private static final int STEPS = 4;
+
+    public AdamsBashforthMoultonMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    // Without history a single step can only be a Runge-Kutta step
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return rungeKutta(xi, yi, f.applyAsDouble(xi, yi), h);
+    }
+
+    @Override
+    protected Stepper createStepper(double x0, double y0) {
+        return new History();
+    }
+
+    private double rungeKutta(double xi, double yi, double fi, double h) {
+        double k1 = h*fi;
+        double k2 = h*f.applyAsDouble(xi+h/2, yi+k1/2);
+        double k3 = h*f.applyAsDouble(xi+h/2, yi+k2/2);
+        double k4 = h*f.applyAsDouble(xi+h, yi+k3);
+        return yi + 1.0/6.0*(k1 + 2*k2 + 2*k3 + k4);
+    }
+
+    private class History implements Stepper {
+        // slopes[newest] is f at the current point, older ones go backwards around the ring
+        private final double[] slopes = new double[STEPS];
+        private int newest = -1;
+        private int count;
+        // Where and with which step the next call continues the history
+        private double nextX = Double.NaN;
+        private double h = Double.NaN;
+
+        @Override
+        public double step(double x, double y, double h) {
+            // History is valid only on the same grid
+            if (x != nextX || h != this.h) {
+                count = 0;
+                this.h = h;
+            }
+            if (count == 0) {
+                add(f.applyAsDouble(x, y));
+            }
+            nextX = x + h;
+
+            if (count < STEPS) {
+                double next = rungeKutta(x, y, slopes[newest], h);
+                add(f.applyAsDouble(nextX, next));
+                return next;
+            }
+
+            double f0 = slopes[newest];
+            double f1 = slopes[(newest + STEPS - 1) % STEPS];
+            double f2 = slopes[(newest + STEPS - 2) % STEPS];
+            double f3 = slopes[(newest + STEPS - 3) % STEPS];
+            double predicted = y + h/24*(55*f0 - 59*f1 + 37*f2 - 9*f3);
+            double corrected = y + h/24*(9*f.applyAsDouble(nextX, predicted) + 19*f0 - 5*f1 + f2);
+            add(f.applyAsDouble(nextX, corrected));
+            return corrected;
+        }
+
+        private void add(double slope) {
+            newest = (newest + 1) % STEPS;
+            slopes[newest] = slope;
+            count = Math.min(count + 1, STEPS);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Dormand-Prince with error control on a uniform grid: the accepted mesh is interpolated onto the grid points,
+// so the number of steps depends on the tolerances and on the solution, not on N
+public class AdaptiveDormandPrinceMethod extends DESolver {
+    private final DormandPrinceMethod method;
+
+    public AdaptiveDormandPrinceMethod(DoubleBinaryOperator f) {
+        this(f, DormandPrinceMethod.DEFAULT_RTOL, DormandPrinceMethod.DEFAULT_ATOL);
+    }
+
+    public AdaptiveDormandPrinceMethod(DoubleBinaryOperator f, double rtol, double atol) {
+        super(f);
+        this.method = new DormandPrinceMethod(f, rtol, atol);
+    }
+
+    public AdaptiveSolution solveAdaptive(double x0, double y0, double X) {
+        return method.solveAdaptive(x0, y0, X);
+    }
+
+    @Override
+    public double[] solve(double x0, double y0, double X, int N) {
+        if (N < 1) throw new IllegalArgumentException("There should be at least one step");
+        double[] ys = new double[N+1];
+        denseOutput(x0, y0, X, null).evaluateGrid(x0, X, N, ys);
+        return ys;
+    }
+
+    // Only the accepted mesh is stored, the grid points are interpolated one by one
+    @Override
+    public int solve(double x0, double y0, double X, int N, SolutionSink sink) {
+        ContinuousSolution solution = denseOutput(x0, y0, X, null);
+        double h = (X - x0) / N;
+        int i = 0;
+        try {
+            for (; i <= N; i++) {
+                double x = x0 + i*h;
+                if (!sink.accept(i, x, solution.valueAt(x))) {
+                    return i + 1;
+                }
+            }
+            return i;
+        } finally {
+            sink.end();
+        }
+    }
+
+    // The mesh is not kept between calls, so it is solved again, which takes the same few steps
+    @Override
+    public ContinuousSolution denseOutput(double x0, double y0, double X, double[] ys) {
+        return DenseOutput.of(method.solveAdaptive(x0, y0, X));
+    }
+
+    // Stepping point by point, as the ensemble solver does, reads the points from one solve of the whole interval
+    @Override
+    protected Stepper createStepper(double x0, double y0, double X) {
+        ContinuousSolution solution = denseOutput(x0, y0, X, null);
+        return (x, y, h) -> solution.valueAt(x + h);
+    }
+
+    // Without the end of the interval a step is the fixed step of the fifth order formula
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return method.getNextApproximation(x0, y0, xi, yi, h);
+    }
+}
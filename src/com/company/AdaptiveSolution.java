@@ -0,0 +1,27 @@
+package com.company;
+
+public class AdaptiveSolution {
+    public final double[] xs;
+    public final double[] ys;
+    // f at the accepted points, the first same as last stage gives them without extra evaluations
+    public final double[] dys;
+    public final int acceptedSteps;
+    public final int rejectedSteps;
+    public final long evaluations;
+
+    public AdaptiveSolution(double[] xs, double[] ys, double[] dys, int acceptedSteps, int rejectedSteps, long evaluations) {
+        if (xs.length != ys.length || xs.length != dys.length) {
+            throw new IllegalArgumentException("Mesh and solution have different sizes");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        this.dys = dys;
+        this.acceptedSteps = acceptedSteps;
+        this.rejectedSteps = rejectedSteps;
+        this.evaluations = evaluations;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+}
@@ -0,0 +1,26 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// y(i+1) = y(i) + h*f(x(i+1), y(i+1)), first order and L-stable
+public class BackwardEulerMethod extends ImplicitMethod {
+
+    public BackwardEulerMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    public BackwardEulerMethod(DoubleBinaryOperator f, DoubleBinaryOperator dfdy) {
+        super(f, dfdy);
+    }
+
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return new Newton().solve(xi + h, yi, h, yi);
+    }
+
+    @Override
+    protected Stepper createStepper(double x0, double y0) {
+        Newton newton = new Newton();
+        return (x, y, h) -> newton.solve(x + h, y, h, y);
+    }
+}
@@ -0,0 +1,112 @@
+package com.company;
+
+import java.util.Arrays;
+
+// Coefficients of an explicit Runge-Kutta method with s stages
+//   k(i) = f(x + c(i)*h, y + h*(a(i,1)*k(1) + ... + a(i,i-1)*k(i-1)))
+//   y(x + h) = y + h*(b(1)*k(1) + ... + b(s)*k(s))
+// a is strictly lower triangular and given by rows, a[i] has i elements
+public final class ButcherTableau {
+    public static final ButcherTableau EULER = new ButcherTableau("Euler", 1,
+            new double[][]{{}},
+            new double[]{1},
+            new double[]{0});
+
+    public static final ButcherTableau MIDPOINT = new ButcherTableau("Midpoint", 2,
+            new double[][]{{}, {1.0/2}},
+            new double[]{0, 1},
+            new double[]{0, 1.0/2});
+
+    public static final ButcherTableau HEUN = new ButcherTableau("Heun", 2,
+            new double[][]{{}, {1}},
+            new double[]{1.0/2, 1.0/2},
+            new double[]{0, 1});
+
+    public static final ButcherTableau RALSTON = new ButcherTableau("Ralston", 2,
+            new double[][]{{}, {2.0/3}},
+            new double[]{1.0/4, 3.0/4},
+            new double[]{0, 2.0/3});
+
+    public static final ButcherTableau RK3 = new ButcherTableau("Kutta's third order", 3,
+            new double[][]{{}, {1.0/2}, {-1, 2}},
+            new double[]{1.0/6, 2.0/3, 1.0/6},
+            new double[]{0, 1.0/2, 1});
+
+    public static final ButcherTableau SSPRK3 = new ButcherTableau("Strong stability preserving third order", 3,
+            new double[][]{{}, {1}, {1.0/4, 1.0/4}},
+            new double[]{1.0/6, 1.0/6, 2.0/3},
+            new double[]{0, 1, 1.0/2});
+
+    public static final ButcherTableau RK4 = new ButcherTableau("Classical fourth order", 4,
+            new double[][]{{}, {1.0/2}, {0, 1.0/2}, {0, 0, 1}},
+            new double[]{1.0/6, 1.0/3, 1.0/3, 1.0/6},
+            new double[]{0, 1.0/2, 1.0/2, 1});
+
+    public static final ButcherTableau THREE_EIGHTHS = new ButcherTableau("3/8-rule fourth order", 4,
+            new double[][]{{}, {1.0/3}, {-1.0/3, 1}, {1, -1, 1}},
+            new double[]{1.0/8, 3.0/8, 3.0/8, 1.0/8},
+            new double[]{0, 1.0/3, 2.0/3, 1});
+
+    private final String name;
+    private final int order;
+    private final double[][] a;
+    private final double[] b;
+    private final double[] c;
+
+    public ButcherTableau(String name, int order, double[][] a, double[] b, double[] c) {
+        int stages = b.length;
+        if (stages == 0) throw new IllegalArgumentException("There should be at least one stage");
+        if (a.length != stages || c.length != stages) throw new IllegalArgumentException("Coefficients have different numbers of stages");
+        this.a = new double[stages][];
+        for (int i = 0; i < stages; i++) {
+            if (a[i].length != i) throw new IllegalArgumentException("Row " + i + " of an explicit method should have " + i + " coefficients");
+            this.a[i] = a[i].clone();
+        }
+        this.name = name;
+        this.order = order;
+        this.b = b.clone();
+        this.c = c.clone();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public int getStages() {
+        return b.length;
+    }
+
+    public double a(int i, int j) {
+        return a[i][j];
+    }
+
+    public double b(int i) {
+        return b[i];
+    }
+
+    public double c(int i) {
+        return c[i];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ButcherTableau)) return false;
+        ButcherTableau that = (ButcherTableau) o;
+        return Arrays.deepEquals(a, that.a) && Arrays.equals(b, that.b) && Arrays.equals(c, that.c);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.deepHashCode(a) + Arrays.hashCode(b)) + Arrays.hashCode(c);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
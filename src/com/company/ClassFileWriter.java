@@ -0,0 +1,255 @@
+package com.company;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal writer of class files with straight-line methods only, so no stack map frames are needed
+final class ClassFileWriter {
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    static final int ALOAD_0 = 0x2a;
+    static final int ALOAD_1 = 0x2b;
+    static final int DLOAD = 0x18;
+    static final int DSTORE = 0x39;
+    static final int LDC2_W = 0x14;
+    static final int DUP2 = 0x5c;
+    static final int DADD = 0x63;
+    static final int DSUB = 0x67;
+    static final int DMUL = 0x6b;
+    static final int DDIV = 0x6f;
+    static final int DNEG = 0x77;
+    static final int DRETURN = 0xaf;
+    static final int RETURN = 0xb1;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+    static final int INVOKEINTERFACE = 0xb9;
+    static final int WIDE = 0xc4;
+
+    // Limits of the class file format
+    private static final int MAX_CODE_LENGTH = 0xffff;
+    private static final int MAX_INDEX = 0xffff;
+
+    private static final int CLASS_FILE_VERSION = 52;
+
+    // Valid code which exceeds a limit of the class file format, unlike a mistake in the generated code
+    static final class TooLargeException extends IllegalArgumentException {
+        TooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private int constantCount = 1;
+
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private final List<Method> methods = new ArrayList<>();
+
+    ClassFileWriter(String className, String superName, String... interfaceNames) {
+        thisClass = classRef(className);
+        superClass = classRef(superName);
+        interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classRef(interfaceNames[i]);
+        }
+    }
+
+    int utf8(String value) {
+        return constant("U" + value, 1, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, 1, out -> {
+            out.writeByte(7);
+            out.writeShort(name);
+        });
+    }
+
+    int doubleConstant(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return constant("D" + bits, 2, out -> {
+            out.writeByte(6);
+            out.writeLong(bits);
+        });
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return memberRef(10, owner, name, descriptor);
+    }
+
+    int interfaceMethodRef(String owner, String name, String descriptor) {
+        return memberRef(11, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int nameAndType = constant("N" + name + ":" + descriptor, 1, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+        return constant(tag + owner + "." + name + ":" + descriptor, 1, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    private interface ConstantWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private int constant(String key, int slots, ConstantWriter writer) {
+        Integer index = constants.get(key);
+        if (index != null) return index;
+        try {
+            writer.write(constantPool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index = constantCount;
+        constantCount += slots;
+        constants.put(key, index);
+        return index;
+    }
+
+    Method method(int access, String name, String descriptor) {
+        Method method = new Method(access, utf8(name), utf8(descriptor));
+        methods.add(method);
+        return method;
+    }
+
+    // Constructor which only calls the constructor of the super class
+    void defaultConstructor(String superName) {
+        Method constructor = method(ACC_PUBLIC, "<init>", "()V");
+        constructor.op(ALOAD_0);
+        constructor.op(INVOKESPECIAL, methodRef(superName, "<init>", "()V"));
+        constructor.op(RETURN);
+        constructor.maxStack = 1;
+        constructor.maxLocals = 1;
+    }
+
+    // Defines the class as a hidden class of this package and creates an instance with the default constructor
+    <T> T newInstance(Class<T> type) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(toByteArray(), true);
+            return type.cast(lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not load generated class", e);
+        }
+    }
+
+    // Throws TooLargeException if a method or the constant pool does not fit into the class file format
+    byte[] toByteArray() {
+        int code = utf8("Code");
+        if (constantCount > MAX_INDEX) throw new TooLargeException("Too many constants for a class file");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            out.writeShort(constantCount);
+            constantPool.flush();
+            constantPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int i: interfaces) {
+                out.writeShort(i);
+            }
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            for (Method method: methods) {
+                byte[] body = method.code.toByteArray();
+                if (body.length > MAX_CODE_LENGTH || method.maxStack > MAX_INDEX || method.maxLocals > MAX_INDEX) {
+                    throw new TooLargeException("Method is too large for a class file");
+                }
+                out.writeShort(method.access);
+                out.writeShort(method.name);
+                out.writeShort(method.descriptor);
+                out.writeShort(1);
+                out.writeShort(code);
+                out.writeInt(12 + body.length);
+                out.writeShort(method.maxStack);
+                out.writeShort(method.maxLocals);
+                out.writeInt(body.length);
+                out.write(body);
+                out.writeShort(0);
+                out.writeShort(0);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static final class Method {
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        int maxStack;
+        int maxLocals;
+
+        private Method(int access, int name, int descriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        void op(int opcode) {
+            code.write(opcode);
+        }
+
+        // Instructions with a local variable index, indices beyond a byte take the wide form
+        void local(int opcode, int index) {
+            if (index > MAX_INDEX) throw new TooLargeException("Too many local variables");
+            if (index > 0xff) {
+                code.write(WIDE);
+                code.write(opcode);
+                code.write(index >> 8);
+                code.write(index);
+                return;
+            }
+            code.write(opcode);
+            code.write(index);
+        }
+
+        // Instructions with a constant pool index
+        void op(int opcode, int index) {
+            code.write(opcode);
+            code.write(index >> 8);
+            code.write(index);
+        }
+
+        // Arguments are counted in words, including the receiver
+        void invokeInterface(int index, int argumentWords) {
+            op(INVOKEINTERFACE, index);
+            code.write(argumentWords);
+            code.write(0);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.company;
+
+// Exact solution of y' = 2e^x - y, which is y = e^x + c/e^x with c = e^x0 * y0 - e^(2*x0)
+public class ClosedFormReference implements ReferenceProvider {
+
+    @Override
+    public ContinuousSolution bind(double x0, double y0, double X) {
+        double ex0 = Math.exp(x0);
+        return new Solution(ex0 * y0 - ex0 * ex0);
+    }
+
+    private static final class Solution implements ContinuousSolution {
+        private final double c;
+
+        Solution(double c) {
+            this.c = c;
+        }
+
+        @Override
+        public double valueAt(double x) {
+            double ex = Math.exp(x);
+            return ex + c / ex;
+        }
+
+        // One exponential per point and no calls, so the loop stays in one compiled body
+        @Override
+        public void evaluateGrid(double x0, double X, int N, double[] ys) {
+            double h = (X - x0) / N;
+            for (int i = 0; i <= N; i++) {
+                double ex = Math.exp(x0 + i*h);
+                ys[i] = ex + c / ex;
+            }
+        }
+
+        // The only extremum is where e^x = c/e^x, that is at x = ln(c)/2 for a positive c
+        @Override
+        public double[] range(double x0, double X) {
+            double y0 = valueAt(x0);
+            double yX = valueAt(X);
+            double[] range = {Math.min(y0, yX), Math.max(y0, yX)};
+            double x = Math.log(c) / 2;
+            if (c > 0 && x > x0 && x < X) {
+                double y = valueAt(x);
+                range[0] = Math.min(range[0], y);
+                range[1] = Math.max(range[1], y);
+            }
+            return range;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.company;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntToDoubleFunction;
+
+// Writes columns of doubles, values are taken from the columns one by one, so nothing is copied on the heap
+//
+// Binary format, all numbers are little-endian:
+//   "DESR", int version, long rows, int columns,
+//   for each column: short length and UTF-8 bytes of its name,
+//   zero padding up to a multiple of 8 bytes,
+//   then all values of the first column, all values of the second column and so on
+public class ColumnarFileWriter {
+    public static final int VERSION = 1;
+    private static final byte[] MAGIC = {'D', 'E', 'S', 'R'};
+    // Size of one mapped window, the file is mapped part by part to stay within the limits of a MappedByteBuffer
+    private static final long WINDOW = 1L << 27;
+
+    private final String[] names;
+    private final IntToDoubleFunction[] columns;
+    private final int rows;
+
+    public ColumnarFileWriter(String[] names, IntToDoubleFunction[] columns, int rows) {
+        if (names.length != columns.length) throw new IllegalArgumentException("Every column should have a name");
+        this.names = names.clone();
+        this.columns = columns.clone();
+        this.rows = rows;
+    }
+
+    public void writeBinary(Path path) throws IOException {
+        ByteBuffer header = header();
+        long dataSize = (long)rows * columns.length * Double.BYTES;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(header, 0);
+            long position = header.capacity();
+            long end = position + dataSize;
+            int column = 0;
+            int row = 0;
+            while (position < end) {
+                long size = Math.min(WINDOW, end - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                while (window.hasRemaining()) {
+                    window.putDouble(columns[column].applyAsDouble(row));
+                    if (++row == rows) {
+                        row = 0;
+                        column++;
+                    }
+                }
+                window.force();
+                position += size;
+            }
+        }
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+            for (int column = 0; column < names.length; column++) {
+                if (column != 0) out.write(',');
+                out.write(csvName(names[column]));
+            }
+            out.write('\n');
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns.length; column++) {
+                    if (column != 0) out.write(',');
+                    out.write(Double.toString(columns[column].applyAsDouble(row)));
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    private ByteBuffer header() {
+        byte[][] encodedNames = new byte[names.length][];
+        int size = MAGIC.length + Integer.BYTES + Long.BYTES + Integer.BYTES;
+        for (int i = 0; i < names.length; i++) {
+            encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            if (encodedNames[i].length > Short.MAX_VALUE) throw new IllegalArgumentException("Column name is too long");
+            size += Short.BYTES + encodedNames[i].length;
+        }
+        size = (size + 7) / 8 * 8;
+
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(rows);
+        header.putInt(names.length);
+        for (byte[] name: encodedNames) {
+            header.putShort((short)name.length);
+            header.put(name);
+        }
+        header.rewind();
+        return header;
+    }
+
+    private static String csvName(String name) {
+        if (name.indexOf(',') < 0 && name.indexOf('"') < 0) return name;
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,29 @@
+package com.company;
+
+// Solution bound to one initial condition which can be evaluated at any x, used as the reference for errors and for drawing
+public interface ContinuousSolution {
+    // Points used to find the range of a solution which does not know its extrema
+    int RANGE_SAMPLES = 1024;
+
+    double valueAt(double x);
+
+    // Values at x0 + i*(X - x0)/N for i in 0..N, x is found from the index so that it does not accumulate errors
+    default void evaluateGrid(double x0, double X, int N, double[] ys) {
+        double h = (X - x0) / N;
+        for (int i = 0; i <= N; i++) {
+            ys[i] = valueAt(x0 + i*h);
+        }
+    }
+
+    // Minimum and maximum on [x0, X], found from samples unless the solution knows where its extrema are
+    default double[] range(double x0, double X) {
+        double[] samples = new double[RANGE_SAMPLES + 1];
+        evaluateGrid(x0, X, RANGE_SAMPLES, samples);
+        double[] range = {samples[0], samples[0]};
+        for (double y: samples) {
+            if (y < range[0]) range[0] = y;
+            if (y > range[1]) range[1] = y;
+        }
+        return range;
+    }
+}
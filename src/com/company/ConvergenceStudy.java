@@ -0,0 +1,130 @@
+package com.company;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ConvergenceStudy {
+    // Approximate number of grid points solved by one leaf task
+    private static final long LEAF_WORK = 1 << 15;
+
+    public interface Listener {
+        // Called from worker threads, errors[s] is the max error of the s-th solver on the grid of n steps
+        void errorsComputed(int n, double[] errors);
+
+        // Polled between grids, once it returns true the remaining grids are skipped
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    private final DESolver exactSolver;
+    private final DESolver[] solvers;
+    private final ForkJoinPool pool;
+
+    public ConvergenceStudy(DESolver exactSolver, DESolver[] solvers) {
+        this(exactSolver, solvers, ForkJoinPool.commonPool());
+    }
+
+    public ConvergenceStudy(DESolver exactSolver, DESolver[] solvers, ForkJoinPool pool) {
+        this.exactSolver = exactSolver;
+        this.solvers = solvers.clone();
+        this.pool = pool;
+    }
+
+    public double[][] run(double x0, double y0, double X, int N) {
+        return run(x0, y0, X, N, null);
+    }
+
+    // Returns totalErrors[s][n-1] for each solver s and each n in 1..N
+    public double[][] run(double x0, double y0, double X, int N, Listener listener) {
+        double[][] totalErrors = new double[solvers.length][N];
+        run(x0, y0, X, 1, N, totalErrors, listener);
+        return totalErrors;
+    }
+
+    // Fills totalErrors[s][n-1] only for n in fromN..toN, leaving other entries untouched
+    public void run(double x0, double y0, double X, int fromN, int toN, double[][] totalErrors, Listener listener) {
+        if (fromN < 1) throw new IllegalArgumentException("There should be at least one step");
+        if (totalErrors.length != solvers.length) throw new IllegalArgumentException("Wrong number of error series");
+        for (double[] errors: totalErrors) {
+            if (errors.length < toN) throw new IllegalArgumentException("Wrong error series size");
+        }
+        if (fromN > toN) return;
+        ConvergenceStudyEvent event = new ConvergenceStudyEvent();
+        event.begin();
+        pool.invoke(new StudyTask(x0, y0, X, fromN, toN, totalErrors, listener));
+        boolean cancelled = listener != null && listener.isCancelled();
+        if (event.shouldCommit()) {
+            event.methods = solvers.length;
+            event.fromN = fromN;
+            event.toN = toN;
+            event.cancelled = cancelled;
+            event.commit();
+        }
+        if (cancelled) {
+            throw new CancellationException("Convergence study was cancelled");
+        }
+    }
+
+    private double[] errorsFor(double x0, double y0, double X, int n) {
+        double[] exactYs = exactSolver.solve(x0, y0, X, n);
+        double[] errors = new double[solvers.length];
+        double[] totalError = new double[1];
+        SolutionSink sink = (j, x, y) -> {
+            double error = Math.abs(y - exactYs[j]);
+            if (totalError[0] < error) {
+                totalError[0] = error;
+            }
+            return true;
+        };
+        // Approximations are compared with the shared exact grid as they are computed, without being stored
+        for (int s = 0; s < solvers.length; s++) {
+            totalError[0] = -1;
+            solvers[s].solve(x0, y0, X, n, sink);
+            errors[s] = totalError[0];
+        }
+        return errors;
+    }
+
+    private class StudyTask extends RecursiveAction {
+        private final double x0, y0, X;
+        private final int from, to;
+        private final double[][] totalErrors;
+        private final Listener listener;
+
+        StudyTask(double x0, double y0, double X, int from, int to, double[][] totalErrors, Listener listener) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.X = X;
+            this.from = from;
+            this.to = to;
+            this.totalErrors = totalErrors;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            // Work of a single n is proportional to n, so split by the number of grid points rather than by n
+            long work = ((long)from + to) * (to - from + 1) / 2;
+            if (from == to || work <= LEAF_WORK) {
+                for (int n = from; n <= to; n++) {
+                    if (listener != null && listener.isCancelled()) return;
+                    double[] errors = errorsFor(x0, y0, X, n);
+                    for (int s = 0; s < errors.length; s++) {
+                        totalErrors[s][n-1] = errors[s];
+                    }
+                    if (listener != null) {
+                        listener.errorsComputed(n, errors);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new StudyTask(x0, y0, X, from, middle, totalErrors, listener),
+                    new StudyTask(x0, y0, X, middle + 1, to, totalErrors, listener)
+            );
+        }
+    }
+}
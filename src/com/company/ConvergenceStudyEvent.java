@@ -0,0 +1,24 @@
+package com.company;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.company.ConvergenceStudy")
+@Label("Convergence Study")
+@Category("DE-solver")
+@Description("Total errors of all methods for a range of the number of steps")
+class ConvergenceStudyEvent extends jdk.jfr.Event {
+    @Label("Methods")
+    int methods;
+
+    @Label("From N")
+    int fromN;
+
+    @Label("To N")
+    int toN;
+
+    @Label("Cancelled")
+    boolean cancelled;
+}
@@ -9,16 +9,62 @@ public abstract class DESolver {
         this.f = f;
     }
 
+    // x is found from the index, so the points stay on the grid of the exact solution at any N
     public double[] solve(double x0, double y0, double X, int N) {
+        Stepper stepper = createStepper(x0, y0, X);
         double[] ys = new double[N+1];
         double h = (X - x0) / N;
-        double x = x0, y = y0;
-        for (int i = 0; i <= N; i++, x += h) {
+        double y = y0;
+        for (int i = 0; i <= N; i++) {
             ys[i] = y;
-            y = getNextApproximation(x0, y0, x, y, h);
+            if (i < N) {
+                y = stepper.step(x0 + i*h, y, h);
+            }
         }
         return ys;
     }
 
+    // Same points as solve, but each one is passed to the sink instead of being stored, returns number of accepted points
+    public int solve(double x0, double y0, double X, int N, SolutionSink sink) {
+        Stepper stepper = createStepper(x0, y0, X);
+        double h = (X - x0) / N;
+        double y = y0;
+        int i = 0;
+        try {
+            for (; i <= N; i++) {
+                double x = x0 + i*h;
+                if (!sink.accept(i, x, y)) {
+                    return i + 1;
+                }
+                if (i < N) {
+                    y = stepper.step(x, y, h);
+                }
+            }
+            return i;
+        } finally {
+            sink.end();
+        }
+    }
+
+    // Continuous solution through the nodes returned by solve, so it can be evaluated between them without solving again
+    public ContinuousSolution denseOutput(double x0, double y0, double X, double[] ys) {
+        return DenseOutput.uniform(x0, X, ys, f);
+    }
+
     protected abstract double getNextApproximation(double x0, double y0, double xi, double yi, double h);
+
+    // Created once per solve, so methods which keep something from step to step stay thread-safe
+    protected Stepper createStepper(double x0, double y0) {
+        return (x, y, h) -> getNextApproximation(x0, y0, x, y, h);
+    }
+
+    // Stepper for a solve which ends at X, for methods which need to know the whole interval in advance
+    protected Stepper createStepper(double x0, double y0, double X) {
+        return createStepper(x0, y0);
+    }
+
+    protected interface Stepper {
+        // Approximation of y(x + h) from the approximation of y(x)
+        double step(double x, double y, double h);
+    }
 }
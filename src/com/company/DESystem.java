@@ -0,0 +1,13 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+@FunctionalInterface
+public interface DESystem {
+    // Writes y'(x) into dydx, must not modify y
+    void apply(double x, double[] y, double[] dydx);
+
+    static DESystem of(DoubleBinaryOperator f) {
+        return (x, y, dydx) -> dydx[0] = f.applyAsDouble(x, y[0]);
+    }
+}
@@ -0,0 +1,151 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Cubic Hermite interpolation between the nodes of a solution, with the slopes given by f at the nodes.
+// Its error is O(h^4), so it keeps the accuracy of methods up to the fourth order anywhere between the nodes.
+// Nodes on a uniform grid are found directly, other nodes by binary search
+public class DenseOutput implements ContinuousSolution {
+    // Null for a uniform grid
+    private final double[] xs;
+    private final double x0;
+    private final double h;
+    private final double[] ys;
+    private final double[] dys;
+
+    private DenseOutput(double[] xs, double x0, double h, double[] ys, double[] dys) {
+        if (ys.length == 0 || ys.length != dys.length || (xs != null && xs.length != ys.length)) {
+            throw new IllegalArgumentException("Nodes, values and slopes have different sizes");
+        }
+        this.xs = xs;
+        this.x0 = x0;
+        this.h = h;
+        this.ys = ys;
+        this.dys = dys;
+    }
+
+    // Nodes at x0 + i*(X - x0)/N, where N = ys.length - 1
+    public static DenseOutput uniform(double x0, double X, double[] ys, DoubleBinaryOperator f) {
+        int N = ys.length - 1;
+        double h = (N == 0) ? 0 : (X - x0) / N;
+        double[] dys = new double[ys.length];
+        for (int i = 0; i <= N; i++) {
+            dys[i] = f.applyAsDouble(x0 + i*h, ys[i]);
+        }
+        return new DenseOutput(null, x0, h, ys, dys);
+    }
+
+    // Increasing nodes, as the adaptive method returns them
+    public static DenseOutput of(double[] xs, double[] ys, DoubleBinaryOperator f) {
+        for (int i = 1; i < xs.length; i++) {
+            if (!(xs[i] > xs[i-1])) throw new IllegalArgumentException("Nodes should be increasing");
+        }
+        double[] dys = new double[ys.length];
+        for (int i = 0; i < ys.length; i++) {
+            dys[i] = f.applyAsDouble(xs[i], ys[i]);
+        }
+        return new DenseOutput(xs, xs[0], 0, ys, dys);
+    }
+
+    // Accepted mesh of the adaptive method with the slopes it found, so no evaluations are needed
+    public static DenseOutput of(AdaptiveSolution solution) {
+        return new DenseOutput(solution.xs, solution.xs[0], 0, solution.ys, solution.dys);
+    }
+
+    public int getNodesCount() {
+        return ys.length;
+    }
+
+    @Override
+    public double valueAt(double x) {
+        return interpolate(interval(x), x);
+    }
+
+    // Points are increasing, so the interval is only moved forward instead of being searched for every point
+    @Override
+    public void evaluateGrid(double x0, double X, int N, double[] ys) {
+        double step = (X - x0) / N;
+        int i = interval(x0);
+        for (int j = 0; j <= N; j++) {
+            double x = x0 + j*step;
+            while (i < this.ys.length - 2 && x > nodeX(i + 1)) {
+                i++;
+            }
+            ys[j] = interpolate(i, x);
+        }
+    }
+
+    // Exact range of the interpolation: the ends, the nodes between them and the extrema of the cubic on every interval
+    @Override
+    public double[] range(double x0, double X) {
+        double[] range = {valueAt(x0), valueAt(x0)};
+        include(range, valueAt(X));
+        int first = interval(x0);
+        int last = interval(X);
+        for (int i = first; i <= last && ys.length > 1; i++) {
+            double left = nodeX(i);
+            double width = nodeX(i + 1) - left;
+            if (left > x0 && left < X) include(range, ys[i]);
+            if (width == 0) continue;
+            // The derivative of the cubic in t is a*t^2 + b*t + c
+            double a = 6*(ys[i] - ys[i+1]) + 3*width*(dys[i] + dys[i+1]);
+            double b = 6*(ys[i+1] - ys[i]) - 2*width*(2*dys[i] + dys[i+1]);
+            double c = width * dys[i];
+            if (a == 0) {
+                if (b != 0) includeExtremum(range, i, left - width * c / b, x0, X);
+                continue;
+            }
+            double discriminant = b*b - 4*a*c;
+            if (discriminant < 0) continue;
+            double root = Math.sqrt(discriminant);
+            includeExtremum(range, i, left + width * (-b - root) / (2*a), x0, X);
+            includeExtremum(range, i, left + width * (-b + root) / (2*a), x0, X);
+        }
+        return range;
+    }
+
+    // Extremum of the cubic of interval i counts only where that cubic is the one evaluated
+    private void includeExtremum(double[] range, int i, double x, double x0, double X) {
+        if (x > x0 && x < X && interval(x) == i) include(range, interpolate(i, x));
+    }
+
+    private static void include(double[] range, double y) {
+        if (y < range[0]) range[0] = y;
+        if (y > range[1]) range[1] = y;
+    }
+
+    // Index of the first node of the interval containing x, the outermost intervals extend beyond the nodes
+    private int interval(double x) {
+        int last = ys.length - 2;
+        if (last <= 0) return 0;
+        if (xs == null) {
+            return (h == 0) ? 0 : Math.max(0, Math.min(last, (int)Math.floor((x - x0) / h)));
+        }
+        int low = 0, high = last;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (xs[middle] <= x) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private double nodeX(int i) {
+        return (xs == null) ? x0 + i*h : xs[i];
+    }
+
+    private double interpolate(int i, double x) {
+        if (ys.length == 1) return ys[0];
+        double left = nodeX(i);
+        double width = nodeX(i + 1) - left;
+        if (width == 0) return ys[i];
+        double t = (x - left) / width;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2*t3 - 3*t2 + 1) * ys[i] + (t3 - 2*t2 + t) * width * dys[i]
+                + (-2*t3 + 3*t2) * ys[i+1] + (t3 - t2) * width * dys[i+1];
+    }
+}
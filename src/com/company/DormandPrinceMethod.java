@@ -0,0 +1,149 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+public class DormandPrinceMethod extends DESolver {
+    public static final double DEFAULT_RTOL = 1e-6;
+    public static final double DEFAULT_ATOL = 1e-9;
+
+    // Step size control (Hairer, Norsett, Wanner, Solving ODE I, section II.4)
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 10;
+    private static final double BETA = 0.04;
+    private static final double ALPHA = 0.2 - 0.75 * BETA;
+
+    private static final double C2 = 1.0/5, C3 = 3.0/10, C4 = 4.0/5, C5 = 8.0/9;
+    private static final double A21 = 1.0/5;
+    private static final double A31 = 3.0/40, A32 = 9.0/40;
+    private static final double A41 = 44.0/45, A42 = -56.0/15, A43 = 32.0/9;
+    private static final double A51 = 19372.0/6561, A52 = -25360.0/2187, A53 = 64448.0/6561, A54 = -212.0/729;
+    private static final double A61 = 9017.0/3168, A62 = -355.0/33, A63 = 46732.0/5247, A64 = 49.0/176, A65 = -5103.0/18656;
+    private static final double B1 = 35.0/384, B3 = 500.0/1113, B4 = 125.0/192, B5 = -2187.0/6784, B6 = 11.0/84;
+    // Difference between the 5th and the embedded 4th order weights
+    private static final double E1 = 71.0/57600, E3 = -71.0/16695, E4 = 71.0/1920, E5 = -17253.0/339200, E6 = 22.0/525, E7 = -1.0/40;
+
+    private final double rtol;
+    private final double atol;
+
+    public DormandPrinceMethod(DoubleBinaryOperator f) {
+        this(f, DEFAULT_RTOL, DEFAULT_ATOL);
+    }
+
+    public DormandPrinceMethod(DoubleBinaryOperator f, double rtol, double atol) {
+        super(f);
+        if (rtol < 0 || atol < 0 || rtol + atol == 0) throw new IllegalArgumentException("Tolerances should be non-negative and not both zero");
+        this.rtol = rtol;
+        this.atol = atol;
+    }
+
+    // Fixed step of the 5th order formula, so the method can be used on a uniform grid
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        double k1 = f.applyAsDouble(xi, yi);
+        double k2 = f.applyAsDouble(xi + C2*h, yi + h*A21*k1);
+        double k3 = f.applyAsDouble(xi + C3*h, yi + h*(A31*k1 + A32*k2));
+        double k4 = f.applyAsDouble(xi + C4*h, yi + h*(A41*k1 + A42*k2 + A43*k3));
+        double k5 = f.applyAsDouble(xi + C5*h, yi + h*(A51*k1 + A52*k2 + A53*k3 + A54*k4));
+        double k6 = f.applyAsDouble(xi + h, yi + h*(A61*k1 + A62*k2 + A63*k3 + A64*k4 + A65*k5));
+        return yi + h*(B1*k1 + B3*k3 + B4*k4 + B5*k5 + B6*k6);
+    }
+
+    public AdaptiveSolution solveAdaptive(double x0, double y0, double X) {
+        if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
+
+        double[] xs = new double[64];
+        double[] ys = new double[64];
+        double[] dys = new double[64];
+        double x = x0, y = y0;
+        double k1 = f.applyAsDouble(x, y);
+        long evaluations = 1;
+        int size = 0;
+        xs[size] = x0;
+        ys[size] = y0;
+        dys[size] = k1;
+        size++;
+        if (x0 == X) {
+            return new AdaptiveSolution(Arrays.copyOf(xs, size), Arrays.copyOf(ys, size), Arrays.copyOf(dys, size), 0, 0, evaluations);
+        }
+
+        double h = initialStep(x, y, k1, X - x0);
+        evaluations++;
+        double previousError = 1e-4;
+        int accepted = 0, rejected = 0;
+        boolean lastRejected = false;
+
+        while (x < X) {
+            if (x + 1.01*h >= X) {
+                h = X - x;
+            }
+            if (!Double.isFinite(h)) {
+                throw new IllegalStateException("Step size is not finite at x = " + x);
+            }
+            if (x + h == x) {
+                throw new IllegalStateException("Step size became too small at x = " + x);
+            }
+
+            double k2 = f.applyAsDouble(x + C2*h, y + h*A21*k1);
+            double k3 = f.applyAsDouble(x + C3*h, y + h*(A31*k1 + A32*k2));
+            double k4 = f.applyAsDouble(x + C4*h, y + h*(A41*k1 + A42*k2 + A43*k3));
+            double k5 = f.applyAsDouble(x + C5*h, y + h*(A51*k1 + A52*k2 + A53*k3 + A54*k4));
+            double k6 = f.applyAsDouble(x + h, y + h*(A61*k1 + A62*k2 + A63*k3 + A64*k4 + A65*k5));
+            double yNew = y + h*(B1*k1 + B3*k3 + B4*k4 + B5*k5 + B6*k6);
+            double xNew = (h == X - x) ? X : x + h;
+            double k7 = f.applyAsDouble(xNew, yNew);
+            evaluations += 6;
+
+            double scale = atol + rtol * Math.max(Math.abs(y), Math.abs(yNew));
+            double error = Math.abs(h*(E1*k1 + E3*k3 + E4*k4 + E5*k5 + E6*k6 + E7*k7)) / scale;
+            // NaN would neither accept nor shrink the step, so the loop would never end
+            if (!Double.isFinite(error)) {
+                throw new IllegalStateException("Solution is not finite near x = " + x);
+            }
+
+            if (error <= 1) {
+                // PI control: the previous error damps oscillations of the step size
+                double factor = (error == 0) ? MAX_FACTOR : SAFETY * Math.pow(error, -ALPHA) * Math.pow(previousError, BETA);
+                factor = Math.min(lastRejected ? 1 : MAX_FACTOR, Math.max(MIN_FACTOR, factor));
+                previousError = Math.max(error, 1e-4);
+
+                x = xNew;
+                y = yNew;
+                k1 = k7; // First same as last
+                if (size == xs.length) {
+                    xs = Arrays.copyOf(xs, size * 2);
+                    ys = Arrays.copyOf(ys, size * 2);
+                    dys = Arrays.copyOf(dys, size * 2);
+                }
+                xs[size] = x;
+                ys[size] = y;
+                dys[size] = k1;
+                size++;
+                accepted++;
+                lastRejected = false;
+                h *= factor;
+            } else {
+                double factor = Math.max(MIN_FACTOR, SAFETY * Math.pow(error, -ALPHA));
+                rejected++;
+                lastRejected = true;
+                h *= factor;
+            }
+        }
+        return new AdaptiveSolution(Arrays.copyOf(xs, size), Arrays.copyOf(ys, size), Arrays.copyOf(dys, size), accepted, rejected, evaluations);
+    }
+
+    // Initial step guess from the magnitudes of y, y' and y'' (Hairer, Norsett, Wanner, Solving ODE I, section II.4)
+    private double initialStep(double x, double y, double dy, double length) {
+        double scale = atol + rtol * Math.abs(y);
+        double d0 = Math.abs(y) / scale;
+        double d1 = Math.abs(dy) / scale;
+        double h0 = (d0 < 1e-5 || d1 < 1e-5) ? 1e-6 : 0.01 * d0 / d1;
+        h0 = Math.min(h0, length);
+
+        double dy1 = f.applyAsDouble(x + h0, y + h0 * dy);
+        double d2 = Math.abs(dy1 - dy) / scale / h0;
+        double h1 = (Math.max(d1, d2) <= 1e-15) ? Math.max(1e-6, h0 * 1e-3) : Math.pow(0.01 / Math.max(d1, d2), 1.0/5);
+        return Math.min(Math.min(100 * h0, h1), length);
+    }
+}
@@ -0,0 +1,29 @@
+package com.company;
+
+public class EnsembleSolution {
+    public final int trajectories;
+    public final int N;
+    // Time-major matrix, the value of trajectory k at step i is values[i*trajectories + k]
+    public final double[] values;
+
+    public EnsembleSolution(int trajectories, int N, double[] values) {
+        if (values.length != (long)trajectories * (N+1)) {
+            throw new IllegalArgumentException("Wrong matrix size");
+        }
+        this.trajectories = trajectories;
+        this.N = N;
+        this.values = values;
+    }
+
+    public double get(int k, int i) {
+        return values[i*trajectories + k];
+    }
+
+    public double[] getTrajectory(int k) {
+        double[] ys = new double[N+1];
+        for (int i = 0; i <= N; i++) {
+            ys[i] = values[i*trajectories + k];
+        }
+        return ys;
+    }
+}
@@ -0,0 +1,261 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+
+// Integrates many initial conditions of the same equation in lockstep. For Euler's, improved Euler's and Runge-Kutta
+// methods y, h and the stages are kept in arrays over the lanes: f is evaluated lane by lane, and the stages are
+// combined by loops over all lanes, with the Vector API when it is available. The arithmetic is the one of the scalar
+// methods in the same order, so every lane is the same as solving its initial condition alone.
+// Other methods are stepped lane by lane with their own steppers
+public class EnsembleSolver {
+    // Trajectories integrated together by one task, small enough for the lanes to stay in L1 cache
+    private static final int BLOCK_SIZE = 512;
+    // The Vector API is an incubator module, it is used only if the JVM was started with --add-modules jdk.incubator.vector
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorLanes.isSupported();
+
+    private enum Scheme { EULER, IMPROVED_EULER, RUNGE_KUTTA, STEPPER }
+
+    private final DESolver solver;
+    private final ForkJoinPool pool;
+    private final Scheme scheme;
+    private final Lanes lanes;
+
+    public EnsembleSolver(DESolver solver) {
+        this(solver, ForkJoinPool.commonPool(), true);
+    }
+
+    public EnsembleSolver(DESolver solver, ForkJoinPool pool) {
+        this(solver, pool, true);
+    }
+
+    // vectorized = false combines the stages with plain loops even if the Vector API is available
+    public EnsembleSolver(DESolver solver, ForkJoinPool pool, boolean vectorized) {
+        this.solver = solver;
+        this.pool = pool;
+        // Subclasses may change the step, so only the methods themselves are combined lane-wise
+        if (solver.getClass() == EulerMethod.class) {
+            scheme = Scheme.EULER;
+        } else if (solver.getClass() == ImprovedEulerMethod.class) {
+            scheme = Scheme.IMPROVED_EULER;
+        } else if (solver.getClass() == RungeKuttaMethod.class) {
+            scheme = Scheme.RUNGE_KUTTA;
+        } else {
+            scheme = Scheme.STEPPER;
+        }
+        this.lanes = (vectorized && VECTOR_API) ? new VectorLanes() : new ScalarLanes();
+    }
+
+    // Stages are combined with the Vector API
+    public boolean isVectorized() {
+        return scheme != Scheme.STEPPER && lanes instanceof VectorLanes;
+    }
+
+    public EnsembleSolution solve(double x0, double[] y0s, double X, int N) {
+        double[] x0s = new double[y0s.length];
+        Arrays.fill(x0s, x0);
+        return solve(x0s, y0s, X, N);
+    }
+
+    public EnsembleSolution solve(double[] x0s, double[] y0s, double X, int N) {
+        if (x0s.length != y0s.length) throw new IllegalArgumentException("Initial conditions have different sizes");
+        if (N < 1) throw new IllegalArgumentException("There should be at least one step");
+        if ((long)x0s.length * (N+1) > Integer.MAX_VALUE) throw new IllegalArgumentException("Ensemble is too large");
+        for (double x0: x0s) {
+            if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
+        }
+
+        int K = x0s.length;
+        double[] values = new double[K * (N+1)];
+        pool.invoke(new BlockTask(x0s, y0s, X, N, values, 0, K));
+        return new EnsembleSolution(K, N, values);
+    }
+
+    // Integrates trajectories [from, to), lane k of every array belongs to trajectory from + k
+    private void solveBlock(double[] x0s, double[] y0s, double X, int N, double[] values, int from, int to) {
+        int K = x0s.length;
+        int size = to - from;
+        double[] starts = Arrays.copyOfRange(x0s, from, to);
+        double[] ys = Arrays.copyOfRange(y0s, from, to);
+        double[] hs = new double[size];
+        double[] halfHs = new double[size];
+        for (int k = 0; k < size; k++) {
+            hs[k] = (X - starts[k]) / N;
+            halfHs[k] = hs[k]/2;
+        }
+        Stepping stepping = createStepping(starts, ys, X, hs, halfHs, size);
+
+        for (int i = 0; i <= N; i++) {
+            System.arraycopy(ys, 0, values, i*K + from, size);
+            if (i < N) {
+                stepping.step(i);
+            }
+        }
+    }
+
+    private interface Stepping {
+        // Replaces y at point i of every lane with y at point i + 1
+        void step(int i);
+    }
+
+    private Stepping createStepping(double[] starts, double[] ys, double X, double[] hs, double[] halfHs, int size) {
+        DoubleBinaryOperator f = solver.f;
+        double[] k1 = new double[size];
+        switch (scheme) {
+            case EULER:
+                // y + h*f(x, y)
+                return i -> {
+                    for (int k = 0; k < size; k++) {
+                        k1[k] = f.applyAsDouble(starts[k] + i*hs[k], ys[k]);
+                    }
+                    lanes.addProduct(ys, ys, hs, k1, size);
+                };
+            case IMPROVED_EULER: {
+                // y + h/2*(k1 + f(x + h, y + h*k1))
+                double[] k2 = new double[size];
+                double[] pre = new double[size];
+                return i -> {
+                    for (int k = 0; k < size; k++) {
+                        k1[k] = f.applyAsDouble(starts[k] + i*hs[k], ys[k]);
+                    }
+                    lanes.addProduct(pre, ys, hs, k1, size);
+                    for (int k = 0; k < size; k++) {
+                        k2[k] = f.applyAsDouble(starts[k] + i*hs[k] + hs[k], pre[k]);
+                    }
+                    lanes.addProductOfSum(ys, halfHs, k1, k2, size);
+                };
+            }
+            case RUNGE_KUTTA: {
+                // Stages scaled by h, y + (k1 + 2*k2 + 2*k3 + k4)/6
+                double[] k2 = new double[size];
+                double[] k3 = new double[size];
+                double[] k4 = new double[size];
+                double[] tmp = new double[size];
+                return i -> {
+                    for (int k = 0; k < size; k++) {
+                        k1[k] = f.applyAsDouble(starts[k] + i*hs[k], ys[k]);
+                    }
+                    lanes.multiply(k1, hs, size);
+                    lanes.addScaled(tmp, ys, 0.5, k1, size);
+                    for (int k = 0; k < size; k++) {
+                        k2[k] = f.applyAsDouble(starts[k] + i*hs[k] + halfHs[k], tmp[k]);
+                    }
+                    lanes.multiply(k2, hs, size);
+                    lanes.addScaled(tmp, ys, 0.5, k2, size);
+                    for (int k = 0; k < size; k++) {
+                        k3[k] = f.applyAsDouble(starts[k] + i*hs[k] + halfHs[k], tmp[k]);
+                    }
+                    lanes.multiply(k3, hs, size);
+                    lanes.addScaled(tmp, ys, 1, k3, size);
+                    for (int k = 0; k < size; k++) {
+                        k4[k] = f.applyAsDouble(starts[k] + i*hs[k] + hs[k], tmp[k]);
+                    }
+                    lanes.multiply(k4, hs, size);
+                    lanes.combineRungeKutta(ys, k1, k2, k3, k4, size);
+                };
+            }
+            default: {
+                DESolver.Stepper[] steppers = new DESolver.Stepper[size];
+                for (int k = 0; k < size; k++) {
+                    steppers[k] = solver.createStepper(starts[k], ys[k], X);
+                }
+                return i -> {
+                    for (int k = 0; k < size; k++) {
+                        ys[k] = steppers[k].step(starts[k] + i*hs[k], ys[k], hs[k]);
+                    }
+                };
+            }
+        }
+    }
+
+    // Arithmetic over the first n lanes of the arrays, done in the order of the scalar methods so the results are equal
+    interface Lanes {
+        // k = h*k
+        void multiply(double[] k, double[] h, int n);
+
+        // out = y + c*k
+        void addScaled(double[] out, double[] y, double c, double[] k, int n);
+
+        // out = y + h*k
+        void addProduct(double[] out, double[] y, double[] h, double[] k, int n);
+
+        // y = y + h*(a + b)
+        void addProductOfSum(double[] y, double[] h, double[] a, double[] b, int n);
+
+        // y = y + 1/6*(k1 + 2*k2 + 2*k3 + k4)
+        void combineRungeKutta(double[] y, double[] k1, double[] k2, double[] k3, double[] k4, int n);
+    }
+
+    static final class ScalarLanes implements Lanes {
+        @Override
+        public void multiply(double[] k, double[] h, int n) {
+            for (int j = 0; j < n; j++) {
+                k[j] = h[j]*k[j];
+            }
+        }
+
+        @Override
+        public void addScaled(double[] out, double[] y, double c, double[] k, int n) {
+            for (int j = 0; j < n; j++) {
+                out[j] = y[j] + c*k[j];
+            }
+        }
+
+        @Override
+        public void addProduct(double[] out, double[] y, double[] h, double[] k, int n) {
+            for (int j = 0; j < n; j++) {
+                out[j] = y[j] + h[j]*k[j];
+            }
+        }
+
+        @Override
+        public void addProductOfSum(double[] y, double[] h, double[] a, double[] b, int n) {
+            for (int j = 0; j < n; j++) {
+                y[j] = y[j] + h[j]*(a[j] + b[j]);
+            }
+        }
+
+        @Override
+        public void combineRungeKutta(double[] y, double[] k1, double[] k2, double[] k3, double[] k4, int n) {
+            for (int j = 0; j < n; j++) {
+                y[j] = y[j] + 1.0/6.0*(k1[j] + 2*k2[j] + 2*k3[j] + k4[j]);
+            }
+        }
+    }
+
+    private class BlockTask extends RecursiveAction {
+        private final double[] x0s, y0s;
+        private final double X;
+        private final int N;
+        private final double[] values;
+        private final int from, to;
+
+        BlockTask(double[] x0s, double[] y0s, double X, int N, double[] values, int from, int to) {
+            this.x0s = x0s;
+            this.y0s = y0s;
+            this.X = X;
+            this.N = N;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK_SIZE) {
+                solveBlock(x0s, y0s, X, N, values, from, to);
+                return;
+            }
+            // Split on a block boundary, so neighbouring tasks share as few cache lines as possible
+            int middle = from + ((to - from) / BLOCK_SIZE / 2) * BLOCK_SIZE;
+            if (middle == from) middle = from + BLOCK_SIZE;
+            invokeAll(
+                    new BlockTask(x0s, y0s, X, N, values, from, middle),
+                    new BlockTask(x0s, y0s, X, N, values, middle, to)
+            );
+        }
+    }
+}
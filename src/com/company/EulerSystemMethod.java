@@ -0,0 +1,25 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+public class EulerSystemMethod extends SystemSolver {
+
+    public EulerSystemMethod(DESystem f, int dimension) {
+        super(f, dimension);
+    }
+
+    public EulerSystemMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    @Override
+    protected Stepper createStepper() {
+        double[] k = new double[dimension];
+        return (x, y, h) -> {
+            f.apply(x, y, k);
+            for (int j = 0; j < dimension; j++) {
+                y[j] += h*k[j];
+            }
+        };
+    }
+}
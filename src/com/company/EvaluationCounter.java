@@ -0,0 +1,42 @@
+package com.company;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleBinaryOperator;
+
+// Right-hand side that counts its evaluations, used by the metrics and by the benchmarks as a secondary metric
+// The convergence study calls f from the fork-join pool, so the counter has to be thread-safe
+class EvaluationCounter implements DoubleBinaryOperator {
+    private final DoubleBinaryOperator f;
+    private final LongAdder evaluations = new LongAdder();
+    // Evaluations by each thread, so a solve counts only its own while other solves use the same f
+    private final ThreadLocal<long[]> threadEvaluations = ThreadLocal.withInitial(() -> new long[1]);
+
+    EvaluationCounter(DoubleBinaryOperator f) {
+        this.f = f;
+    }
+
+    @Override
+    public double applyAsDouble(double x, double y) {
+        evaluations.increment();
+        threadEvaluations.get()[0]++;
+        return f.applyAsDouble(x, y);
+    }
+
+    long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    long getThreadEvaluations() {
+        return threadEvaluations.get()[0];
+    }
+
+    // Evaluations made on other threads for a solve started on this one
+    void addThreadEvaluations(long evaluations) {
+        this.evaluations.add(evaluations);
+        threadEvaluations.get()[0] += evaluations;
+    }
+
+    DoubleBinaryOperator getFunction() {
+        return f;
+    }
+}
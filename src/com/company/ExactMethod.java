@@ -1,13 +1,65 @@
 package com.company;
 
+import java.util.function.DoubleBinaryOperator;
+
 public class ExactMethod extends DESolver {
+    private final ReferenceProvider reference;
 
     public ExactMethod() {
-        super(Main.F);
+        this(Main.F, new ClosedFormReference());
+    }
+
+    public ExactMethod(DoubleBinaryOperator f, ReferenceProvider reference) {
+        super(f);
+        this.reference = reference;
+    }
+
+    // Exact solution which can be evaluated anywhere on [x0, X] without storing a grid
+    public ContinuousSolution bind(double x0, double y0, double X) {
+        return reference.bind(x0, y0, X);
+    }
+
+    // The solution is bound to the initial condition once per solve instead of once per step
+    @Override
+    public double[] solve(double x0, double y0, double X, int N) {
+        double[] ys = new double[N+1];
+        reference.bind(x0, y0, X).evaluateGrid(x0, X, N, ys);
+        return ys;
+    }
+
+    @Override
+    public int solve(double x0, double y0, double X, int N, SolutionSink sink) {
+        ContinuousSolution solution = reference.bind(x0, y0, X);
+        double h = (X - x0) / N;
+        int i = 0;
+        try {
+            for (; i <= N; i++) {
+                double x = x0 + i*h;
+                if (!sink.accept(i, x, solution.valueAt(x))) {
+                    return i + 1;
+                }
+            }
+            return i;
+        } finally {
+            sink.end();
+        }
+    }
+
+    @Override
+    public ContinuousSolution denseOutput(double x0, double y0, double X, double[] ys) {
+        return reference.bind(x0, y0, X);
+    }
+
+    // Stepping point by point, as the ensemble solver does, reads every point from one binding for the whole interval
+    @Override
+    protected Stepper createStepper(double x0, double y0, double X) {
+        ContinuousSolution solution = reference.bind(x0, y0, X);
+        return (x, y, h) -> solution.valueAt(x + h);
     }
 
+    // The end of the interval is not known here, so the solution is bound up to the point asked for
     @Override
     protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
-        return Main.getSolution(x0, y0).applyAsDouble(xi+h);
+        return reference.bind(x0, y0, xi + h).valueAt(xi + h);
     }
 }
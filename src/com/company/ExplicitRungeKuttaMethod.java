@@ -0,0 +1,24 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Any explicit Runge-Kutta method given by its tableau, stepped by code generated for the tableau
+public class ExplicitRungeKuttaMethod extends DESolver {
+    private final ButcherTableau tableau;
+    private final RungeKuttaCompiler.Step step;
+
+    public ExplicitRungeKuttaMethod(DoubleBinaryOperator f, ButcherTableau tableau) {
+        super(f);
+        this.tableau = tableau;
+        this.step = RungeKuttaCompiler.compile(tableau);
+    }
+
+    public ButcherTableau getTableau() {
+        return tableau;
+    }
+
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return step.step(f, xi, yi, h);
+    }
+}
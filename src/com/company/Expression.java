@@ -0,0 +1,83 @@
+package com.company;
+
+import java.util.Objects;
+
+// Node of a parsed right-hand side, nodes are shared between equal subexpressions
+public final class Expression {
+
+    public enum Kind {
+        CONSTANT, X, Y, NEGATE, ADD, SUBTRACT, MULTIPLY, DIVIDE, POWER, FUNCTION
+    }
+
+    public final Kind kind;
+    public final double value;
+    // Name of java.lang.Math method for FUNCTION nodes
+    public final String function;
+    public final Expression left;
+    public final Expression right;
+    private final int hash;
+
+    Expression(Kind kind, double value, String function, Expression left, Expression right) {
+        this.kind = kind;
+        this.value = value;
+        this.function = function;
+        this.left = left;
+        this.right = right;
+        this.hash = Objects.hash(kind, Double.doubleToLongBits(value), function, left, right);
+    }
+
+    public boolean isConstant() {
+        return kind == Kind.CONSTANT;
+    }
+
+    public double evaluate(double x, double y) {
+        switch (kind) {
+            case CONSTANT: return value;
+            case X: return x;
+            case Y: return y;
+            case NEGATE: return -left.evaluate(x, y);
+            case ADD: return left.evaluate(x, y) + right.evaluate(x, y);
+            case SUBTRACT: return left.evaluate(x, y) - right.evaluate(x, y);
+            case MULTIPLY: return left.evaluate(x, y) * right.evaluate(x, y);
+            case DIVIDE: return left.evaluate(x, y) / right.evaluate(x, y);
+            case POWER: return Math.pow(left.evaluate(x, y), right.evaluate(x, y));
+            case FUNCTION: return ExpressionParser.applyFunction(function, left.evaluate(x, y));
+            default: throw new IllegalStateException("Unknown node " + kind);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Expression)) return false;
+        Expression that = (Expression) o;
+        return hash == that.hash
+                && kind == that.kind
+                && Double.doubleToLongBits(value) == Double.doubleToLongBits(that.value)
+                && Objects.equals(function, that.function)
+                && Objects.equals(left, that.left)
+                && Objects.equals(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case CONSTANT: return String.valueOf(value);
+            case X: return "x";
+            case Y: return "y";
+            case NEGATE: return "(-" + left + ")";
+            case ADD: return "(" + left + " + " + right + ")";
+            case SUBTRACT: return "(" + left + " - " + right + ")";
+            case MULTIPLY: return "(" + left + " * " + right + ")";
+            case DIVIDE: return "(" + left + " / " + right + ")";
+            case POWER: return "(" + left + " ^ " + right + ")";
+            case FUNCTION: return function + "(" + left + ")";
+            default: throw new IllegalStateException("Unknown node " + kind);
+        }
+    }
+}
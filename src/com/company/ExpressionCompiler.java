@@ -0,0 +1,129 @@
+package com.company;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+
+// Compiles parsed f(x, y) into a hidden class implementing DoubleBinaryOperator, so the JIT treats it as a hand-written lambda
+public class ExpressionCompiler {
+    private static final String CLASS_NAME = "com/company/CompiledFunction";
+    private static final String OPERATOR = "java/util/function/DoubleBinaryOperator";
+    private static final int X_SLOT = 1;
+    private static final int Y_SLOT = 3;
+    private static final int FIRST_TEMPORARY_SLOT = 5;
+
+    private final ClassFileWriter writer = new ClassFileWriter(CLASS_NAME, "java/lang/Object", OPERATOR);
+    private final ClassFileWriter.Method method;
+    private final Map<Expression, Integer> uses = new IdentityHashMap<>();
+    private final Map<Expression, Integer> slots = new IdentityHashMap<>();
+    private int nextSlot = FIRST_TEMPORARY_SLOT;
+    private int stack;
+
+    private ExpressionCompiler() {
+        writer.defaultConstructor("java/lang/Object");
+        method = writer.method(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, "applyAsDouble", "(DD)D");
+    }
+
+    public static DoubleBinaryOperator compile(String text) {
+        return compile(ExpressionParser.parse(text));
+    }
+
+    // Expressions which do not fit into a class file are interpreted instead
+    public static DoubleBinaryOperator compile(Expression expression) {
+        try {
+            ExpressionCompiler compiler = new ExpressionCompiler();
+            compiler.countUses(expression);
+            compiler.emit(expression);
+            compiler.method.op(ClassFileWriter.DRETURN);
+            compiler.method.maxLocals = compiler.nextSlot;
+            return compiler.writer.newInstance(DoubleBinaryOperator.class);
+        } catch (ClassFileWriter.TooLargeException e) {
+            return expression::evaluate;
+        }
+    }
+
+    // Nodes used more than once are computed once and kept in a local variable
+    private void countUses(Expression node) {
+        int count = uses.merge(node, 1, Integer::sum);
+        if (count > 1) return;
+        if (node.left != null) countUses(node.left);
+        if (node.right != null) countUses(node.right);
+    }
+
+    private void emit(Expression node) {
+        Integer slot = slots.get(node);
+        if (slot != null) {
+            load(slot);
+            return;
+        }
+        switch (node.kind) {
+            case CONSTANT:
+                method.op(ClassFileWriter.LDC2_W, writer.doubleConstant(node.value));
+                push();
+                return;
+            case X:
+                load(X_SLOT);
+                return;
+            case Y:
+                load(Y_SLOT);
+                return;
+            case NEGATE:
+                emit(node.left);
+                method.op(ClassFileWriter.DNEG);
+                break;
+            case ADD:
+            case SUBTRACT:
+            case MULTIPLY:
+            case DIVIDE:
+                emit(node.left);
+                emit(node.right);
+                method.op(opcode(node.kind));
+                pop();
+                break;
+            case POWER:
+                emit(node.left);
+                emit(node.right);
+                method.op(ClassFileWriter.INVOKESTATIC, writer.methodRef("java/lang/Math", "pow", "(DD)D"));
+                pop();
+                break;
+            case FUNCTION:
+                emit(node.left);
+                method.op(ClassFileWriter.INVOKESTATIC, writer.methodRef("java/lang/Math", node.function, "(D)D"));
+                break;
+        }
+        if (uses.get(node) > 1) {
+            method.op(ClassFileWriter.DUP2);
+            push();
+            slot = nextSlot;
+            nextSlot += 2;
+            method.local(ClassFileWriter.DSTORE, slot);
+            pop();
+            slots.put(node, slot);
+        }
+    }
+
+    private static int opcode(Expression.Kind kind) {
+        switch (kind) {
+            case ADD: return ClassFileWriter.DADD;
+            case SUBTRACT: return ClassFileWriter.DSUB;
+            case MULTIPLY: return ClassFileWriter.DMUL;
+            case DIVIDE: return ClassFileWriter.DDIV;
+            default: throw new IllegalArgumentException("Not a binary operation " + kind);
+        }
+    }
+
+    private void load(int slot) {
+        method.local(ClassFileWriter.DLOAD, slot);
+        push();
+    }
+
+    // A double takes two words of the operand stack
+    private void push() {
+        stack += 2;
+        method.maxStack = Math.max(method.maxStack, stack);
+    }
+
+    private void pop() {
+        stack -= 2;
+    }
+}
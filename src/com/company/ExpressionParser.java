@@ -0,0 +1,371 @@
+package com.company;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Recursive descent parser of f(x, y), folds constants and shares equal subexpressions while building the tree
+//   expression = term {("+" | "-") term}
+//   term       = unary {("*" | "/") unary | power}    a factor right after another one means multiplication, as in 2e^x
+//   unary      = ("-" | "+") unary | power
+//   power      = primary ["^" unary]
+//   primary    = number | "x" | "y" | "e" | "pi" | function "(" expression ")" | "(" expression ")"
+public class ExpressionParser {
+    private static final Map<String, String> FUNCTIONS = new HashMap<>();
+    static {
+        for (String name: new String[]{"sin", "cos", "tan", "asin", "acos", "atan", "sinh", "cosh", "tanh", "exp", "log", "log10", "sqrt", "cbrt", "abs"}) {
+            FUNCTIONS.put(name, name);
+        }
+        FUNCTIONS.put("ln", "log");
+    }
+
+    private final String text;
+    private int position;
+    private final Map<Expression, Expression> nodes = new HashMap<>();
+
+    private ExpressionParser(String text) {
+        this.text = text;
+    }
+
+    public static Expression parse(String text) {
+        ExpressionParser parser = new ExpressionParser(text);
+        Expression expression = parser.parseExpression();
+        parser.skipSpaces();
+        if (parser.position != text.length()) {
+            throw parser.error("Unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return expression;
+    }
+
+    // Derivative with respect to x or y, built with the same folding and sharing as parsed expressions
+    public static Expression derivative(Expression expression, Expression.Kind variable) {
+        if (variable != Expression.Kind.X && variable != Expression.Kind.Y) {
+            throw new IllegalArgumentException("Derivative can be taken only with respect to x or y");
+        }
+        ExpressionParser parser = new ExpressionParser("");
+        parser.intern(expression);
+        return parser.differentiate(expression, variable, new IdentityHashMap<>());
+    }
+
+    static double applyFunction(String function, double a) {
+        switch (function) {
+            case "sin": return Math.sin(a);
+            case "cos": return Math.cos(a);
+            case "tan": return Math.tan(a);
+            case "asin": return Math.asin(a);
+            case "acos": return Math.acos(a);
+            case "atan": return Math.atan(a);
+            case "sinh": return Math.sinh(a);
+            case "cosh": return Math.cosh(a);
+            case "tanh": return Math.tanh(a);
+            case "exp": return Math.exp(a);
+            case "log": return Math.log(a);
+            case "log10": return Math.log10(a);
+            case "sqrt": return Math.sqrt(a);
+            case "cbrt": return Math.cbrt(a);
+            case "abs": return Math.abs(a);
+            default: throw new IllegalArgumentException("Unknown function " + function);
+        }
+    }
+
+    // Grammar
+
+    private Expression parseExpression() {
+        Expression result = parseTerm();
+        while (true) {
+            if (consume('+')) {
+                result = binary(Expression.Kind.ADD, result, parseTerm());
+            } else if (consume('-')) {
+                result = binary(Expression.Kind.SUBTRACT, result, parseTerm());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression parseTerm() {
+        Expression result = parseUnary();
+        while (true) {
+            if (consume('*')) {
+                result = binary(Expression.Kind.MULTIPLY, result, parseUnary());
+            } else if (consume('/')) {
+                result = binary(Expression.Kind.DIVIDE, result, parseUnary());
+            } else if (startsPrimary()) {
+                result = binary(Expression.Kind.MULTIPLY, result, parsePower());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Expression parseUnary() {
+        if (consume('-')) {
+            return negate(parseUnary());
+        }
+        if (consume('+')) {
+            return parseUnary();
+        }
+        return parsePower();
+    }
+
+    private Expression parsePower() {
+        Expression base = parsePrimary();
+        if (consume('^')) {
+            return binary(Expression.Kind.POWER, base, parseUnary());
+        }
+        return base;
+    }
+
+    private Expression parsePrimary() {
+        skipSpaces();
+        if (position == text.length()) {
+            throw error("Unexpected end of the expression");
+        }
+        char c = text.charAt(position);
+        if (consume('(')) {
+            Expression inner = parseExpression();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return constant(parseNumber());
+        }
+        if (Character.isLetter(c)) {
+            int start = position;
+            String name = parseName();
+            switch (name) {
+                case "x": return node(Expression.Kind.X, 0, null, null, null);
+                case "y": return node(Expression.Kind.Y, 0, null, null, null);
+                case "e": return constant(Math.E);
+                case "pi": return constant(Math.PI);
+            }
+            String function = FUNCTIONS.get(name);
+            if (function == null) {
+                position = start;
+                throw error("Unknown name '" + name + "'");
+            }
+            expect('(');
+            Expression argument = parseExpression();
+            expect(')');
+            return function(function, argument);
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    // Tokens
+
+    private void skipSpaces() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean consume(char c) {
+        skipSpaces();
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private boolean startsPrimary() {
+        skipSpaces();
+        if (position == text.length()) return false;
+        char c = text.charAt(position);
+        return c == '(' || c == '.' || Character.isLetterOrDigit(c);
+    }
+
+    private double parseNumber() {
+        int start = position;
+        while (position < text.length() && Character.isDigit(text.charAt(position))) position++;
+        if (position < text.length() && text.charAt(position) == '.') {
+            position++;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) position++;
+        }
+        // Exponent only if digits follow, so that 2e^x is 2 * e^x
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < text.length() && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) exponent++;
+            if (exponent < text.length() && Character.isDigit(text.charAt(exponent))) {
+                position = exponent;
+                while (position < text.length() && Character.isDigit(text.charAt(position))) position++;
+            }
+        }
+        try {
+            return Double.parseDouble(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Wrong number");
+        }
+    }
+
+    private String parseName() {
+        int start = position;
+        while (position < text.length() && Character.isLetterOrDigit(text.charAt(position))) position++;
+        return text.substring(start, position);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (position + 1) + " of \"" + text + "\"");
+    }
+
+    // Nodes, with constant folding and simplifications. Adding 0 and multiplying or dividing by 1 keep the result exact,
+    // but e^a as exp(a), a^2 as a*a and a^-1 as 1/a may differ from Math.pow in the last bit
+
+    private Expression constant(double value) {
+        return node(Expression.Kind.CONSTANT, value, null, null, null);
+    }
+
+    private Expression negate(Expression a) {
+        if (a.isConstant()) return constant(-a.value);
+        if (a.kind == Expression.Kind.NEGATE) return a.left;
+        return node(Expression.Kind.NEGATE, 0, null, a, null);
+    }
+
+    private Expression function(String function, Expression a) {
+        if (a.isConstant()) return constant(applyFunction(function, a.value));
+        return node(Expression.Kind.FUNCTION, 0, function, a, null);
+    }
+
+    private Expression binary(Expression.Kind kind, Expression a, Expression b) {
+        if (a.isConstant() && b.isConstant()) {
+            return constant(node(kind, 0, null, a, b).evaluate(0, 0));
+        }
+        switch (kind) {
+            case ADD:
+                if (isConstant(a, 0)) return b;
+                if (isConstant(b, 0)) return a;
+                break;
+            case SUBTRACT:
+                if (isConstant(a, 0)) return negate(b);
+                if (isConstant(b, 0)) return a;
+                break;
+            case MULTIPLY:
+                if (isConstant(a, 1)) return b;
+                if (isConstant(b, 1)) return a;
+                break;
+            case DIVIDE:
+                if (isConstant(b, 1)) return a;
+                break;
+            case POWER:
+                if (isConstant(a, Math.E)) return function("exp", b);
+                if (isConstant(b, 1)) return a;
+                if (isConstant(b, 2)) return binary(Expression.Kind.MULTIPLY, a, a);
+                if (isConstant(b, -1)) return binary(Expression.Kind.DIVIDE, constant(1), a);
+                break;
+        }
+        return node(kind, 0, null, a, b);
+    }
+
+    // Derivatives, terms with a zero derivative are left out instead of being multiplied by zero
+
+    private void intern(Expression node) {
+        if (nodes.putIfAbsent(node, node) != null) return;
+        if (node.left != null) intern(node.left);
+        if (node.right != null) intern(node.right);
+    }
+
+    private Expression differentiate(Expression node, Expression.Kind variable, Map<Expression, Expression> derivatives) {
+        Expression derivative = derivatives.get(node);
+        if (derivative == null) {
+            derivative = differentiateNode(node, variable, derivatives);
+            derivatives.put(node, derivative);
+        }
+        return derivative;
+    }
+
+    private Expression differentiateNode(Expression node, Expression.Kind variable, Map<Expression, Expression> derivatives) {
+        switch (node.kind) {
+            case CONSTANT:
+                return constant(0);
+            case X:
+            case Y:
+                return constant((node.kind == variable) ? 1 : 0);
+            default:
+                break;
+        }
+        Expression u = node.left;
+        Expression v = node.right;
+        Expression du = differentiate(u, variable, derivatives);
+        Expression dv = (v == null) ? null : differentiate(v, variable, derivatives);
+        switch (node.kind) {
+            case NEGATE:
+                return negate(du);
+            case ADD:
+                return binary(Expression.Kind.ADD, du, dv);
+            case SUBTRACT:
+                return binary(Expression.Kind.SUBTRACT, du, dv);
+            case MULTIPLY:
+                // u'v + uv'
+                return binary(Expression.Kind.ADD, product(du, v), product(u, dv));
+            case DIVIDE:
+                // u'/v - uv'/v^2
+                return binary(Expression.Kind.SUBTRACT,
+                        isConstant(du, 0) ? du : binary(Expression.Kind.DIVIDE, du, v),
+                        isConstant(dv, 0) ? dv : binary(Expression.Kind.DIVIDE, product(u, dv), binary(Expression.Kind.MULTIPLY, v, v)));
+            case POWER:
+                if (isConstant(dv, 0)) {
+                    // v u^(v-1) u'
+                    Expression power = binary(Expression.Kind.POWER, u, binary(Expression.Kind.SUBTRACT, v, constant(1)));
+                    return product(product(v, power), du);
+                }
+                // u^v (v' ln(u) + v u'/u)
+                Expression logarithm = product(dv, function("log", u));
+                Expression base = isConstant(du, 0) ? du : binary(Expression.Kind.DIVIDE, product(v, du), u);
+                return product(node, binary(Expression.Kind.ADD, logarithm, base));
+            case FUNCTION:
+                return product(functionDerivative(node), du);
+            default:
+                throw new IllegalStateException("Unknown node " + node.kind);
+        }
+    }
+
+    // Derivative of the function at its argument
+    private Expression functionDerivative(Expression node) {
+        Expression u = node.left;
+        Expression one = constant(1);
+        switch (node.function) {
+            case "sin": return function("cos", u);
+            case "cos": return negate(function("sin", u));
+            case "tan": return binary(Expression.Kind.DIVIDE, one, binary(Expression.Kind.MULTIPLY, function("cos", u), function("cos", u)));
+            case "asin": return binary(Expression.Kind.DIVIDE, one, function("sqrt", binary(Expression.Kind.SUBTRACT, one, binary(Expression.Kind.MULTIPLY, u, u))));
+            case "acos": return negate(binary(Expression.Kind.DIVIDE, one, function("sqrt", binary(Expression.Kind.SUBTRACT, one, binary(Expression.Kind.MULTIPLY, u, u)))));
+            case "atan": return binary(Expression.Kind.DIVIDE, one, binary(Expression.Kind.ADD, one, binary(Expression.Kind.MULTIPLY, u, u)));
+            case "sinh": return function("cosh", u);
+            case "cosh": return function("sinh", u);
+            case "tanh": return binary(Expression.Kind.SUBTRACT, one, binary(Expression.Kind.MULTIPLY, node, node));
+            case "exp": return node;
+            case "log": return binary(Expression.Kind.DIVIDE, one, u);
+            case "log10": return binary(Expression.Kind.DIVIDE, one, binary(Expression.Kind.MULTIPLY, u, constant(Math.log(10))));
+            case "sqrt": return binary(Expression.Kind.DIVIDE, constant(0.5), node);
+            case "cbrt": return binary(Expression.Kind.DIVIDE, one, binary(Expression.Kind.MULTIPLY, constant(3), binary(Expression.Kind.MULTIPLY, node, node)));
+            case "abs": return binary(Expression.Kind.DIVIDE, u, node);
+            default: throw new IllegalArgumentException("Unknown function " + node.function);
+        }
+    }
+
+    private Expression product(Expression a, Expression b) {
+        if (isConstant(a, 0) || isConstant(b, 0)) return constant(0);
+        if (isConstant(a, -1)) return negate(b);
+        if (isConstant(b, -1)) return negate(a);
+        return binary(Expression.Kind.MULTIPLY, a, b);
+    }
+
+    private static boolean isConstant(Expression a, double value) {
+        return a.isConstant() && a.value == value;
+    }
+
+    // Equal subexpressions become the same node, which the compiler evaluates only once
+    private Expression node(Expression.Kind kind, double value, String function, Expression left, Expression right) {
+        Expression node = new Expression(kind, value, function, left, right);
+        Expression existing = nodes.putIfAbsent(node, node);
+        return (existing == null) ? node : existing;
+    }
+}
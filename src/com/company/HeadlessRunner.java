@@ -0,0 +1,284 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+// Runs the same pipeline as the window without any GUI and writes the results to files
+//
+// Usage: HeadlessRunner [--equation "2e^x - y"] [--x0 0] [--y0 0] [--X 7] [--N 11] [--studyN 10000]
+//                       [--methods euler,runge-kutta] [--rtol 1e-6] [--atol 1e-9]
+//                       [--out results] [--csv] [--max-error-only] [--job jobs.txt]
+// Every line of a job file is one job with the same options written as key=value, for example
+//   x0=0 y0=1 X=10 N=1000000 studyN=0 methods=runge-kutta
+// options of the command line are the defaults for the jobs.
+// The convergence study solves every grid up to studyN, which is N but at most 10000 unless it is set, 0 skips it.
+// With --max-error-only solutions are compared with the exact one as they are computed and nothing is stored or written,
+// so N is limited only by time. rtol and atol are the tolerances of adaptive-dp, its accepted mesh is written to
+// adaptive-mesh.bin and its steps and evaluations are printed
+public class HeadlessRunner {
+    // The study takes O(N^2) steps, so large grids are not studied unless asked for
+    private static final int DEFAULT_MAX_STUDY_N = 10000;
+    private static final String USAGE = "Usage: HeadlessRunner [--equation f] [--x0 x0] [--y0 y0] [--X X] [--N N] [--studyN N]"
+            + " [--methods " + String.join(",", Methods.ALL) + "] [--rtol rtol] [--atol atol]"
+            + " [--out directory] [--csv] [--max-error-only] [--job file]";
+
+    private static class Job {
+        final String equation;
+        final double x0;
+        final double y0;
+        final double X;
+        final int N;
+        final int studyN;
+        final String[] methods;
+        final double rtol;
+        final double atol;
+        final Path out;
+        final boolean csv;
+        final boolean maxErrorOnly;
+        final SolvePipeline pipeline;
+
+        Job(Map<String, String> options) {
+            equation = options.getOrDefault("equation", Main.DEFAULT_EQUATION);
+            x0 = parseDouble(options, "x0", Main.DEFAULT_x0);
+            y0 = parseDouble(options, "y0", Main.DEFAULT_y0);
+            X = parseDouble(options, "X", Main.DEFAULT_X);
+            N = parseInt(options, "N", Main.DEFAULT_N);
+            methods = options.containsKey("methods") ? options.get("methods").split(",") : Methods.DEFAULT;
+            rtol = parseDouble(options, "rtol", DormandPrinceMethod.DEFAULT_RTOL);
+            atol = parseDouble(options, "atol", DormandPrinceMethod.DEFAULT_ATOL);
+            out = Paths.get(options.getOrDefault("out", "results"));
+            csv = Boolean.parseBoolean(options.getOrDefault("csv", "false"));
+            maxErrorOnly = Boolean.parseBoolean(options.getOrDefault("max-error-only", "false"));
+            if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
+            if (N < 1) throw new IllegalArgumentException("N should be at least 1");
+            studyN = parseInt(options, "studyN", Math.min(N, DEFAULT_MAX_STUDY_N));
+            if (studyN < 0 || studyN > N) throw new IllegalArgumentException("studyN should be between 0 and N");
+            // Wrong equations and unknown methods are reported before any job runs
+            pipeline = Methods.pipeline(equation, methods, null, rtol, atol);
+        }
+
+        private static int parseInt(Map<String, String> options, String key, int defaultValue) {
+            String value = options.get(key);
+            if (value == null) return defaultValue;
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong integer " + value + " for " + key);
+            }
+        }
+
+        private static double parseDouble(Map<String, String> options, String key, double defaultValue) {
+            String value = options.get(key);
+            if (value == null) return defaultValue;
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong number " + value + " for " + key);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        List<Job> jobs;
+        try {
+            jobs = parseJobs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        for (Job job: jobs) {
+            if (job.maxErrorOnly) {
+                runMaxErrorOnly(job);
+            } else {
+                run(job);
+            }
+        }
+    }
+
+    private static List<Job> parseJobs(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        String jobFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            String key = args[i].substring(2);
+            if (key.equals("csv") || key.equals("max-error-only")) {
+                options.put(key, "true");
+            } else if (i + 1 == args.length) {
+                throw new IllegalArgumentException("No value for " + args[i]);
+            } else if (key.equals("job")) {
+                jobFile = args[++i];
+            } else {
+                options.put(key, args[++i]);
+            }
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        if (jobFile == null) {
+            jobs.add(new Job(options));
+            return jobs;
+        }
+        List<String> lines = Files.readAllLines(Paths.get(jobFile), StandardCharsets.UTF_8);
+        for (String line: lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            Map<String, String> lineOptions = new LinkedHashMap<>();
+            for (String option: line.split("\\s+")) {
+                int separator = option.indexOf('=');
+                if (separator < 0) throw new IllegalArgumentException("Expected key=value instead of " + option + " in " + jobFile);
+                lineOptions.put(option.substring(0, separator), option.substring(separator + 1));
+            }
+            Map<String, String> jobOptions = new LinkedHashMap<>(options);
+            // Each job gets its own directory, unless the job sets it
+            if (!lineOptions.containsKey("out")) {
+                jobOptions.put("out", Paths.get(options.getOrDefault("out", "results"), "job-" + (jobs.size() + 1)).toString());
+            }
+            jobOptions.putAll(lineOptions);
+            jobs.add(new Job(jobOptions));
+        }
+        return jobs;
+    }
+
+    private static void run(Job job) throws IOException {
+        SolvePipeline pipeline = job.pipeline;
+        long start = System.nanoTime();
+        SolvePipeline.Result result = pipeline.run(job.x0, job.y0, job.X, job.N, job.studyN, new SolvePipeline.Listener() {});
+        long solved = System.nanoTime();
+
+        Files.createDirectories(job.out);
+        write(solutionColumns(pipeline, result, job), job, "solutions");
+        write(convergenceColumns(pipeline, result), job, "convergence");
+        AdaptiveSolution mesh = adaptiveMesh(job);
+        if (mesh != null) {
+            write(meshColumns(mesh), job, "adaptive-mesh");
+        }
+        long written = System.nanoTime();
+
+        System.out.printf("y' = %s, y(%s) = %s on [%s, %s], N = %d%n", job.equation, job.x0, job.y0, job.x0, job.X, job.N);
+        for (SolverResult solverResult: result.solverResults) {
+            System.out.printf("  %-24s max error %.6e%n", solverResult.info.name, max(solverResult.totalErrors));
+        }
+        if (Metrics.ENABLED) {
+            for (SolverResult solverResult: result.solverResults) {
+                System.out.println("  " + solverResult.metrics);
+            }
+        }
+        if (mesh != null) {
+            printMesh(mesh);
+        }
+        System.out.printf("  solved in %.3f s, written to %s in %.3f s%n", (solved - start) / 1e9, job.out, (written - solved) / 1e9);
+    }
+
+    // Every approximation goes through a MaxErrorSink point by point, so no array of N points is allocated
+    private static void runMaxErrorOnly(Job job) {
+        SolvePipeline pipeline = job.pipeline;
+        ContinuousSolution exactSolution = ((ExactMethod) pipeline.getExactSolverInfo().solver).bind(job.x0, job.y0, job.X);
+        double h = (job.X - job.x0) / job.N;
+
+        System.out.printf("y' = %s, y(%s) = %s on [%s, %s], N = %d%n", job.equation, job.x0, job.y0, job.x0, job.X, job.N);
+        for (SolutionDisplayInfo info: pipeline.getNumericalSolversInfo()) {
+            MaxErrorSink sink = new MaxErrorSink(exactSolution::valueAt);
+            long start = System.nanoTime();
+            info.solver.solve(job.x0, job.y0, job.X, job.N, sink);
+            long solved = System.nanoTime();
+            System.out.printf("  %-24s max error %.6e at x = %s, solved in %.3f s%n",
+                    info.name, sink.getMaxError(), job.x0 + sink.getMaxErrorIndex() * h, (solved - start) / 1e9);
+        }
+        AdaptiveSolution mesh = adaptiveMesh(job);
+        if (mesh != null) {
+            printMesh(mesh);
+        }
+    }
+
+    // Accepted mesh of the adaptive method if the job uses it, solved again, it is the same as in the solve of the job
+    private static AdaptiveSolution adaptiveMesh(Job job) {
+        for (SolutionDisplayInfo info: job.pipeline.getNumericalSolversInfo()) {
+            if (info.solver instanceof AdaptiveDormandPrinceMethod) {
+                return ((AdaptiveDormandPrinceMethod) info.solver).solveAdaptive(job.x0, job.y0, job.X);
+            }
+        }
+        return null;
+    }
+
+    private static void printMesh(AdaptiveSolution mesh) {
+        double minStep = Double.POSITIVE_INFINITY;
+        double maxStep = 0;
+        for (int i = 1; i < mesh.size(); i++) {
+            minStep = Math.min(minStep, mesh.xs[i] - mesh.xs[i-1]);
+            maxStep = Math.max(maxStep, mesh.xs[i] - mesh.xs[i-1]);
+        }
+        System.out.printf("  adaptive mesh: %d accepted and %d rejected steps, %d evaluations, steps from %.3e to %.3e%n",
+                mesh.acceptedSteps, mesh.rejectedSteps, mesh.evaluations, minStep, maxStep);
+    }
+
+    // Accepted points of the adaptive method with y and y' at each of them
+    private static ColumnarFileWriter meshColumns(AdaptiveSolution mesh) {
+        String[] names = {"x", "y", "y'"};
+        IntToDoubleFunction[] columns = {i -> mesh.xs[i], i -> mesh.ys[i], i -> mesh.dys[i]};
+        return new ColumnarFileWriter(names, columns, mesh.size());
+    }
+
+    // x, exact y, and the approximation with total and local errors of every solver
+    private static ColumnarFileWriter solutionColumns(SolvePipeline pipeline, SolvePipeline.Result result, Job job) {
+        int solvers = result.solverResults.length;
+        String[] names = new String[2 + 3*solvers];
+        IntToDoubleFunction[] columns = new IntToDoubleFunction[names.length];
+        double h = (job.X - job.x0) / job.N;
+        names[0] = "x";
+        columns[0] = i -> job.x0 + i * h;
+        names[1] = pipeline.getExactSolverInfo().name;
+        columns[1] = i -> result.exactYs[i];
+        for (int s = 0; s < solvers; s++) {
+            SolverResult solverResult = result.solverResults[s];
+            names[2 + 3*s] = solverResult.info.name;
+            columns[2 + 3*s] = i -> solverResult.ys[i];
+            names[3 + 3*s] = solverResult.info.name + " total error";
+            columns[3 + 3*s] = i -> solverResult.totalErrors[i];
+            names[4 + 3*s] = solverResult.info.name + " local error";
+            columns[4 + 3*s] = i -> solverResult.localErrors[i];
+        }
+        return new ColumnarFileWriter(names, columns, result.exactYs.length);
+    }
+
+    // N and the max error of every solver on the grid of N steps
+    private static ColumnarFileWriter convergenceColumns(SolvePipeline pipeline, SolvePipeline.Result result) {
+        SolutionDisplayInfo[] infos = pipeline.getNumericalSolversInfo();
+        String[] names = new String[1 + infos.length];
+        IntToDoubleFunction[] columns = new IntToDoubleFunction[names.length];
+        names[0] = "N";
+        columns[0] = row -> row + 1;
+        for (int s = 0; s < infos.length; s++) {
+            double[] errors = result.totalErrorsN[s];
+            names[1 + s] = infos[s].name;
+            columns[1 + s] = row -> errors[row];
+        }
+        int rows = (result.totalErrorsN.length == 0) ? 0 : result.totalErrorsN[0].length;
+        return new ColumnarFileWriter(names, columns, rows);
+    }
+
+    private static void write(ColumnarFileWriter writer, Job job, String name) throws IOException {
+        writer.writeBinary(job.out.resolve(name + ".bin"));
+        if (job.csv) {
+            writer.writeCsv(job.out.resolve(name + ".csv"));
+        }
+    }
+
+    private static double max(double[] values) {
+        double max = 0;
+        for (double value: values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,98 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// One-step methods whose step solves z = c + w*f(x, z) by simplified Newton iteration (Hairer, Wanner, Solving ODE II, section IV.8).
+// ∂f/∂y is taken from dfdy when it is given and estimated by a finite difference otherwise. Within one solve it is kept
+// from step to step and recomputed only when the iteration converges slowly, so smooth stiff problems need about one
+// Jacobian per solve and two evaluations of f per step
+public abstract class ImplicitMethod extends DESolver {
+    private static final int MAX_ITERATIONS = 10;
+    // Jacobians computed within one step before giving up
+    private static final int MAX_UPDATES = 8;
+    private static final double TOLERANCE = 1e-12;
+    // Iteration converging slower than this gets a new Jacobian
+    private static final double SLOW_RATE = 0.5;
+
+    // May be null
+    protected final DoubleBinaryOperator dfdy;
+
+    public ImplicitMethod(DoubleBinaryOperator f) {
+        this(f, null);
+    }
+
+    public ImplicitMethod(DoubleBinaryOperator f, DoubleBinaryOperator dfdy) {
+        super(f);
+        this.dfdy = dfdy;
+    }
+
+    // fxy is f(x, y), so that the finite difference needs only one more evaluation
+    protected double jacobian(double x, double y, double fxy) {
+        if (dfdy != null) return dfdy.applyAsDouble(x, y);
+        double delta = Math.sqrt(Math.ulp(1.0)) * Math.max(1, Math.abs(y));
+        return (f.applyAsDouble(x, y + delta) - fxy) / delta;
+    }
+
+    // Keeps the Jacobian between the steps of one solve
+    protected final class Newton {
+        private double jacobian;
+        private boolean hasJacobian;
+        private boolean slow;
+        private double w;
+        // 1 / (1 - w*jacobian)
+        private double factor;
+
+        // Solves z = c + w*f(x, z) starting from the guess
+        public double solve(double x, double c, double w, double guess) {
+            double z = guess;
+            // f(x, z) when it is already known, the finite difference and the first iteration share it
+            double fz = Double.NaN;
+            if (!hasJacobian || slow) {
+                fz = f.applyAsDouble(x, z);
+                updateJacobian(x, z, fz, w);
+            } else if (w != this.w) {
+                this.w = w;
+                factor = 1 / (1 - w*jacobian);
+            }
+
+            for (int updates = 0; ; updates++) {
+                double previousDelta = Double.POSITIVE_INFINITY;
+                for (int k = 0; k < MAX_ITERATIONS; k++) {
+                    if (Double.isNaN(fz)) {
+                        fz = f.applyAsDouble(x, z);
+                    }
+                    double delta = (c + w*fz - z) * factor;
+                    z += delta;
+                    fz = Double.NaN;
+                    double size = Math.abs(delta);
+                    if (size <= TOLERANCE * Math.max(1, Math.abs(z))) {
+                        // The next step starts with a new Jacobian if this one was not good enough
+                        slow = size > SLOW_RATE * previousDelta;
+                        return z;
+                    }
+                    if (!Double.isFinite(z) || size > SLOW_RATE * previousDelta) {
+                        break;
+                    }
+                    previousDelta = size;
+                }
+                if (updates == MAX_UPDATES) {
+                    throw new IllegalStateException("Newton iteration does not converge at x = " + x + ", try more steps");
+                }
+                // A new Jacobian at the last iterate, or at the guess if the iteration went too far
+                if (!Double.isFinite(z)) {
+                    z = guess;
+                }
+                fz = f.applyAsDouble(x, z);
+                updateJacobian(x, z, fz, w);
+            }
+        }
+
+        private void updateJacobian(double x, double y, double fxy, double w) {
+            jacobian = jacobian(x, y, fxy);
+            this.w = w;
+            factor = 1 / (1 - w*jacobian);
+            hasJacobian = true;
+            slow = false;
+        }
+    }
+}
@@ -10,7 +10,9 @@ public class ImprovedEulerMethod extends EulerMethod {
 
     @Override
     protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
-        double pre_y = super.getNextApproximation(x0, y0, xi, yi, h);
-        return yi + h/2*(f.applyAsDouble(xi, yi) + f.applyAsDouble(xi + h, pre_y));
+        // Slope at the start is shared by the predictor and the corrector
+        double k1 = f.applyAsDouble(xi, yi);
+        double pre_y = yi + h*k1;
+        return yi + h/2*(k1 + f.applyAsDouble(xi + h, pre_y));
     }
 }
@@ -0,0 +1,31 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+public class ImprovedEulerSystemMethod extends SystemSolver {
+
+    public ImprovedEulerSystemMethod(DESystem f, int dimension) {
+        super(f, dimension);
+    }
+
+    public ImprovedEulerSystemMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    @Override
+    protected Stepper createStepper() {
+        double[] k1 = new double[dimension];
+        double[] k2 = new double[dimension];
+        double[] preY = new double[dimension];
+        return (x, y, h) -> {
+            f.apply(x, y, k1);
+            for (int j = 0; j < dimension; j++) {
+                preY[j] = y[j] + h*k1[j];
+            }
+            f.apply(x + h, preY, k2);
+            for (int j = 0; j < dimension; j++) {
+                y[j] += h/2*(k1[j] + k2[j]);
+            }
+        };
+    }
+}
@@ -2,7 +2,7 @@ package com.company;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Arrays;
+import java.awt.image.BufferedImage;
 import java.util.Objects;
 import java.util.Vector;
 
@@ -14,14 +14,32 @@ class JGridGraph extends JPanel {
     private double x0;
     private double X;
     private int N;
-    private double h;
 
     private final String xAxisName;
     private final String yAxisName;
 
+    // Either a polyline or a curve is set for every line, the other one is null.
+    // Both are null for a line of a previous grid which does not fit into the current one, it waits to be replaced
     private Vector<double[]> polylines = new Vector<>();
+    private Vector<ContinuousSolution> curves = new Vector<>();
+    // Interval of the grid each line was added for, it is drawn there until it is replaced
+    private Vector<Double> startXs = new Vector<>();
+    private Vector<Double> endXs = new Vector<>();
     private Vector<Color> colors = new Vector<>();
     private Vector<String> names = new Vector<>();
+    private Vector<Double> minYs = new Vector<>();
+    private Vector<Double> maxYs = new Vector<>();
+
+    // Rendering cache, frame is the background with the polylines drawn over it
+    private BufferedImage frame;
+    private BufferedImage background;
+    private BufferedImage lines;
+    private boolean backgroundDirty = true;
+    private boolean linesDirty = true;
+    private int renderedPolylines;
+    private Rectangle renderedField;
+    private Double renderedMinY;
+    private Double renderedMaxY;
 
     public JGridGraph(String xAxisName, String yAxisName, double x0, double X, int N) {
         clearAndSetNewGrid(x0, X, N);
@@ -33,41 +51,141 @@ class JGridGraph extends JPanel {
         if (polyline.length != N) {
             throw new IllegalArgumentException("Wrong polyline size");
         }
-        this.polylines.add(polyline);
-        this.colors.add(color);
-        this.names.add(name);
+        addPolyline(polyline, color, name, X);
+    }
+
+    // Polyline on the first nodes of the grid, while the rest of them are still being computed
+    public void addPartialPolyline(double[] polyline, Color color, String name) {
+        if (polyline.length == 0 || polyline.length > N) {
+            throw new IllegalArgumentException("Wrong polyline size");
+        }
+        addPolyline(polyline, color, name, (N == 1) ? X : x0 + (X - x0) / (N - 1) * (polyline.length - 1));
+    }
+
+    private void addPolyline(double[] polyline, Color color, String name, double endX) {
+        // Bounds are found once here instead of on every repaint
+        double minY = polyline[0];
+        double maxY = polyline[0];
+        for (double y: polyline) {
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        addLine(polyline, null, endX, color, name, minY, maxY);
+    }
+
+    // Curve is sampled once per pixel column when it is drawn, so it stays smooth whatever the number of steps
+    public void addCurve(ContinuousSolution curve, Color color, String name) {
+        double[] range = curve.range(x0, X);
+        addLine(null, curve, X, color, name, range[0], range[1]);
+    }
+
+    // A line with the name of an existing one replaces it and keeps its place in the legend
+    private void addLine(double[] polyline, ContinuousSolution curve, double endX, Color color, String name, double minY, double maxY) {
+        int index = this.names.indexOf(name);
+        if (index < 0) {
+            this.polylines.add(polyline);
+            this.curves.add(curve);
+            this.startXs.add(x0);
+            this.endXs.add(endX);
+            this.colors.add(color);
+            this.names.add(name);
+            this.minYs.add(minY);
+            this.maxYs.add(maxY);
+            this.backgroundDirty = true;
+        } else {
+            this.polylines.set(index, polyline);
+            this.curves.set(index, curve);
+            this.startXs.set(index, x0);
+            this.endXs.set(index, endX);
+            this.minYs.set(index, minY);
+            this.maxYs.set(index, maxY);
+            if (!color.equals(this.colors.set(index, color))) {
+                this.backgroundDirty = true;
+            }
+            // Lines are drawn over each other, so all of them are drawn again
+            this.linesDirty = true;
+        }
         this.repaint();
     }
 
     public void clearAndSetNewGrid(double x0, double X, int N) {
-        if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
-        if (N < 1) throw new IllegalArgumentException("There should be at least one point");
+        setGrid(x0, X, N);
 
         this.polylines.clear();
+        this.curves.clear();
+        this.startXs.clear();
+        this.endXs.clear();
         this.colors.clear();
+        this.names.clear();
+        this.minYs.clear();
+        this.maxYs.clear();
+    }
+
+    // Lines are kept until they are replaced, lines outside of the new interval are hidden until then
+    public void setGrid(double x0, double X, int N) {
+        if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
+        if (N < 1) throw new IllegalArgumentException("There should be at least one point");
+
+        for (int i = 0; i < polylines.size(); i++) {
+            if (startXs.get(i) < x0 || endXs.get(i) > X) {
+                polylines.set(i, null);
+                curves.set(i, null);
+            }
+        }
 
         this.x0 = x0;
         this.X = X;
         this.N = N;
-        this.h = (X - x0) / (N - 1);
+        this.backgroundDirty = true;
+        this.linesDirty = true;
+        this.repaint();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D)g;
-        FontMetrics metric = g2d.getFontMetrics(g.getFont());
+        int width = this.getWidth();
+        int height = this.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        // Layers are kept between repaints, so a repaint after an unrelated event is a single image blit
+        if (frame == null || frame.getWidth() != width || frame.getHeight() != height) {
+            frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            lines = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            backgroundDirty = true;
+            linesDirty = true;
+        }
+        if (backgroundDirty || linesDirty || renderedPolylines < polylines.size()) {
+            render();
+        }
+        g.drawImage(frame, 0, 0, null);
+    }
+
+    private void render() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        renderLayers();
+        if (event.shouldCommit()) {
+            event.component = yAxisName + "(" + xAxisName + ") graph";
+            event.size = polylines.size();
+            event.commit();
+        }
+    }
+
+    private void renderLayers() {
+        FontMetrics metric = this.getFontMetrics(this.getFont());
         int fontHeight = metric.getAscent() - metric.getDescent() - metric.getLeading();
 
         // Find min and max Y
         Double maxY = null;
         Double minY = null;
-        for (double[] ys: polylines) {
-            @SuppressWarnings("OptionalGetWithoutIsPresent") Double newMax = Arrays.stream(ys).max().getAsDouble();
+        for (int i = 0; i < polylines.size(); i++) {
+            if (isHidden(i)) continue;
+            Double newMax = maxYs.get(i);
             if (maxY == null || newMax > maxY) {
                 maxY = newMax;
             }
-            Double newMin = Arrays.stream(ys).min().getAsDouble();
+            Double newMin = minYs.get(i);
             if (minY == null || newMin < minY) {
                 minY = newMin;
             }
@@ -75,15 +193,71 @@ class JGridGraph extends JPanel {
 
         // Find where to draw
         int legendWidth = 0;
-        int leftPadding = (polylines.isEmpty()) ? NOTCH_SIZE : 1 + NOTCH_SIZE + metric.stringWidth(String.format("%."+PRECISION+"f", maxY));
-        for (String name: names) {
-            if (legendWidth < metric.stringWidth(name)) {
-                legendWidth = metric.stringWidth(name);
+        int leftPadding = (maxY == null) ? NOTCH_SIZE : 1 + NOTCH_SIZE + metric.stringWidth(String.format("%."+PRECISION+"f", maxY));
+        for (int i = 0; i < names.size(); i++) {
+            if (!isHidden(i) && legendWidth < metric.stringWidth(names.get(i))) {
+                legendWidth = metric.stringWidth(names.get(i));
             }
         }
         legendWidth += (legendWidth == 0) ? 0 : fontHeight;
         Rectangle graphField = new Rectangle(leftPadding, this.getHeight() - 4 * NOTCH_SIZE, this.getWidth() - leftPadding - Math.max(metric.stringWidth(String.valueOf(Main.round(X, PRECISION))), legendWidth) - 4 * NOTCH_SIZE, this.getHeight() - 8 * NOTCH_SIZE);
 
+        // Polylines already drawn stay valid only while the field and the scale are the same
+        if (!graphField.equals(renderedField) || !Objects.equals(minY, renderedMinY) || !Objects.equals(maxY, renderedMaxY)) {
+            backgroundDirty = true;
+            linesDirty = true;
+            renderedField = graphField;
+            renderedMinY = minY;
+            renderedMaxY = maxY;
+        }
+
+        if (backgroundDirty) {
+            Graphics2D g2d = background.createGraphics();
+            try {
+                g2d.setColor(this.getBackground());
+                g2d.fillRect(0, 0, background.getWidth(), background.getHeight());
+                g2d.setFont(this.getFont());
+                renderBackground(g2d, metric, fontHeight, graphField, minY, maxY);
+            } finally {
+                g2d.dispose();
+            }
+            backgroundDirty = false;
+        }
+
+        Graphics2D g2d = lines.createGraphics();
+        try {
+            if (linesDirty) {
+                g2d.setComposite(AlphaComposite.Clear);
+                g2d.fillRect(0, 0, lines.getWidth(), lines.getHeight());
+                g2d.setComposite(AlphaComposite.SrcOver);
+                renderedPolylines = 0;
+                linesDirty = false;
+            }
+            if (maxY != null) {
+                //noinspection ConstantConditions
+                renderPolylines(g2d, graphField, minY, maxY, renderedPolylines);
+            }
+            renderedPolylines = polylines.size();
+        } finally {
+            g2d.dispose();
+        }
+
+        Graphics2D frameGraphics = frame.createGraphics();
+        try {
+            frameGraphics.drawImage(background, 0, 0, null);
+            frameGraphics.drawImage(lines, 0, 0, null);
+        } finally {
+            frameGraphics.dispose();
+        }
+    }
+
+    // Line of a previous grid waiting to be replaced
+    private boolean isHidden(int line) {
+        return polylines.get(line) == null && curves.get(line) == null;
+    }
+
+    // Axes, grid, numbers and legend
+    private void renderBackground(Graphics2D g2d, FontMetrics metric, int fontHeight, Rectangle graphField, Double minY, Double maxY) {
         // Draw coordinate system
         g2d.setColor(Color.BLACK);
             // X axis
@@ -123,7 +297,7 @@ class JGridGraph extends JPanel {
                 g2d.drawLine(graphField.x + (int)(xMultiplier * -x0), graphField.y, graphField.x + (int)(xMultiplier * -x0), graphField.y - graphField.height);
             }
 
-        if (!polylines.isEmpty()) {
+        if (maxY != null) {
             // Draw numbers on y axis
             for (int i = 0; i <= GRID_LINES_NUMBER; i++) {
                 int yPixel = (int)((double)graphField.height / GRID_LINES_NUMBER * i);
@@ -138,33 +312,125 @@ class JGridGraph extends JPanel {
                 g2d.drawLine(graphField.x, (int)(graphField.y - yMultiplier * -minY), graphField.x + graphField.width - 1, (int)(graphField.y - yMultiplier * -minY));
             }
 
-            // Draw legend
+            // Draw legend of the shown lines
+            int row = 0;
             for (int i = 0; i < colors.size(); i++) {
+                if (isHidden(i)) continue;
                 g2d.setColor(colors.get(i));
-                g2d.fillRect(graphField.x + graphField.width + fontHeight, graphField.y - graphField.height + fontHeight * 2 * i, fontHeight, fontHeight);
+                g2d.fillRect(graphField.x + graphField.width + fontHeight, graphField.y - graphField.height + fontHeight * 2 * row, fontHeight, fontHeight);
                 g2d.setColor(Color.BLACK);
                 //noinspection SuspiciousNameCombination
-                g2d.drawRect(graphField.x + graphField.width + fontHeight, graphField.y - graphField.height + fontHeight * 2 * i, fontHeight, fontHeight);
-                g2d.drawString(names.get(i), graphField.x + graphField.width + fontHeight * 2 + 2, graphField.y - graphField.height + fontHeight * 2 * i + fontHeight);
+                g2d.drawRect(graphField.x + graphField.width + fontHeight, graphField.y - graphField.height + fontHeight * 2 * row, fontHeight, fontHeight);
+                g2d.drawString(names.get(i), graphField.x + graphField.width + fontHeight * 2 + 2, graphField.y - graphField.height + fontHeight * 2 * row + fontHeight);
+                row++;
             }
+        }
+    }
 
-            // Draw polylines
-            int[] xPixels = new int[Math.max(2, N)];
-            double x = x0;
-            for (int i = 0; i < N; i++, x += h) {
-                xPixels[i] = (int)(graphField.x + xMultiplier * (x - x0));
+    // Draws polylines starting from the given one over the already drawn ones
+    private void renderPolylines(Graphics2D g2d, Rectangle graphField, double minY, double maxY, int from) {
+        // A panel narrower than the axes and the legend has no room for lines, and the pixel buffers below assume it has
+        if (graphField.width <= 0) return;
+        double xMultiplier = (X == x0) ? 0 : graphField.width / (X - x0);
+        double yMultiplier = (maxY == minY) ? 0 : graphField.height / (maxY - minY);
+
+        // Draw polylines, several points falling into one pixel column are reduced to at most four of them
+        int columns = Math.max(1, graphField.width);
+        int longest = 1;
+        for (double[] polyline: polylines) {
+            if (polyline != null && polyline.length > longest) {
+                longest = polyline.length;
             }
-            if (N == 1) xPixels[1] = graphField.x + graphField.width;
-            for (int i = 0; i < polylines.size(); i++) {
-                int[] yPixels = new int[Math.max(2, N)];
-                for (int j = 0; j < N; j++) {
-                    yPixels[j] = (int) (graphField.y - yMultiplier * (polylines.get(i)[j] - minY));
+        }
+        int[] xPixels = new int[Math.max(columns + 1, Math.min(longest, 4 * (columns + 2)))];
+        int[] yPixels = new int[xPixels.length];
+        double[] samples = null;
+        for (int i = from; i < polylines.size(); i++) {
+            int size;
+            double[] polyline = polylines.get(i);
+            ContinuousSolution curve = curves.get(i);
+            // Lines of a previous grid are drawn on their own interval, which lies inside the current one
+            double startX = startXs.get(i);
+            double endX = endXs.get(i);
+            int firstColumn = (int)Math.round((startX - x0) * xMultiplier);
+            if (curve != null) {
+                if (samples == null) {
+                    samples = new double[columns + 1];
                 }
-                if (N == 1) yPixels[1] = yPixels[0];
+                int lineColumns = Math.max(1, (int)Math.round((endX - x0) * xMultiplier) - firstColumn);
+                curve.evaluateGrid(startX, endX, lineColumns, samples);
+                for (int j = 0; j <= lineColumns; j++) {
+                    xPixels[j] = graphField.x + firstColumn + j;
+                    yPixels[j] = (int) (graphField.y - yMultiplier * (samples[j] - minY));
+                }
+                size = lineColumns + 1;
+            } else if (polyline == null) {
+                continue;
+            } else if (polyline.length == 1) {
+                xPixels[0] = graphField.x + firstColumn;
+                xPixels[1] = graphField.x + (int)Math.round((endX - x0) * xMultiplier);
+                yPixels[0] = yPixels[1] = (int) (graphField.y - yMultiplier * (polyline[0] - minY));
+                size = 2;
+            } else {
+                double step = (endX - startX) / (polyline.length - 1);
+                size = decimate(polyline, graphField.x + (startX - x0) * xMultiplier, xMultiplier * step, graphField.y, yMultiplier, minY, xPixels, yPixels);
+            }
 
-                g2d.setColor(colors.get(i));
-                g2d.drawPolyline(xPixels, yPixels, Math.max(2, N));
+            g2d.setColor(colors.get(i));
+            g2d.drawPolyline(xPixels, yPixels, size);
+        }
+    }
+
+    // Keeps the first, the lowest, the highest and the last point of every pixel column in their original order,
+    // so the drawn envelope is the same as with all points, but the number of vertices is bounded by the width
+    private static int decimate(double[] ys, double xOrigin, double xStep, int yOrigin, double yMultiplier, double minY, int[] xPixels, int[] yPixels) {
+        int size = 0;
+        int column = (int)xOrigin;
+        int first = 0, last = 0, lowest = 0, highest = 0;
+        int firstY = 0, lastY = 0, lowestY = 0, highestY = 0;
+        for (int j = 0; j <= ys.length; j++) {
+            int x = (j == ys.length) ? Integer.MIN_VALUE : (int)(xOrigin + xStep * j);
+            if (j != 0 && x != column) {
+                // Column is finished, emit its distinct points sorted by index
+                size = addPoint(xPixels, yPixels, size, column, firstY, first, -1);
+                if (lowest < highest) {
+                    size = addPoint(xPixels, yPixels, size, column, lowestY, lowest, first);
+                    size = addPoint(xPixels, yPixels, size, column, highestY, highest, first);
+                } else {
+                    size = addPoint(xPixels, yPixels, size, column, highestY, highest, first);
+                    size = addPoint(xPixels, yPixels, size, column, lowestY, lowest, first);
+                }
+                size = addPoint(xPixels, yPixels, size, column, lastY, last, Math.max(first, Math.max(lowest, highest)));
+            }
+            if (j == ys.length) break;
+
+            int y = (int) (yOrigin - yMultiplier * (ys[j] - minY));
+            if (j == 0 || x != column) {
+                column = x;
+                first = last = lowest = highest = j;
+                firstY = lastY = lowestY = highestY = y;
+            } else {
+                last = j;
+                lastY = y;
+                if (y < lowestY) {
+                    lowest = j;
+                    lowestY = y;
+                }
+                if (y > highestY) {
+                    highest = j;
+                    highestY = y;
+                }
             }
         }
+        return size;
+    }
+
+    private static int addPoint(int[] xPixels, int[] yPixels, int size, int x, int y, int index, int previousIndex) {
+        if (index == previousIndex || (size > 0 && xPixels[size-1] == x && yPixels[size-1] == y)) {
+            return size;
+        }
+        xPixels[size] = x;
+        yPixels[size] = y;
+        return size + 1;
     }
 }
\ No newline at end of file
@@ -1,27 +1,32 @@
 package com.company;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.Timer;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.util.*;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.DoubleBinaryOperator;
-import java.util.function.DoubleUnaryOperator;
 
 public class Main {
 
 	// Constants
 	public static final DoubleBinaryOperator F = (x, y) -> 2*Math.exp(x) - y;
+	public static final String DEFAULT_EQUATION = "2e^x - y";
 	public static final double DEFAULT_x0 = 0;
 	public static final double DEFAULT_y0 = 0;
 	public static final double DEFAULT_X = 7;
 	public static final int DEFAULT_N = 11;
-	public static DoubleUnaryOperator getSolution(double x0, double y0) {
-		double c = Math.exp(x0) * y0 - Math.exp(2*x0);
-		return x -> (Math.exp(2*x) + c) / Math.exp(x);
-	}
 	public static final int PRECISION = 5;
+	// Edits are solved once there were none for this many milliseconds
+	public static final int LIVE_DELAY = 300;
+	// Partial total errors are displayed at most this often, in milliseconds
+	public static final int PARTIAL_DISPLAY_INTERVAL = 100;
+	// Methods shown in the window, other ones of Methods.ALL are chosen with -Ddesolver.methods=euler,rosenbrock
+	public static final String[] METHODS = System.getProperty("desolver.methods", String.join(",", Methods.DEFAULT)).split(",");
 
 
 	//Helper functions
@@ -34,7 +39,8 @@ public class Main {
 
 
 	// Window components
-	public static JFrame window = new JFrame();
+	// Created in main, so the solvers and constants can be used without a display
+	public static JFrame window;
 	private static JTabbedPane tablesTabs = new JTabbedPane();
 
 	private static JGridGraph solutionsGraph = new JGridGraph("x", "y", DEFAULT_x0, DEFAULT_X, DEFAULT_N);
@@ -47,12 +53,15 @@ public class Main {
 			new SimpleEntry<>("Total approximation errors", totalErrorGraph)
 	);
 
+	private static JTextField equationField = new JTextField(DEFAULT_EQUATION);
 	private static JFormattedTextField x0Field = new JFormattedTextField(DEFAULT_x0);
 	private static JFormattedTextField y0Field = new JFormattedTextField(DEFAULT_y0);
 	private static JFormattedTextField XField = new JFormattedTextField(DEFAULT_X);
 	private static JSpinner NField = new JSpinner(new SpinnerNumberModel(DEFAULT_N, 1, 10000, 1));
 	private static JButton startButton = new JButton("Solve");
+	private static JProgressBar progressBar = new JProgressBar(0, 100);
 	private static List<SimpleEntry<String, JComponent>> fields = Arrays.asList(
+			new SimpleEntry<>("y' =", equationField),
 			new SimpleEntry<>("x0 =", x0Field),
 			new SimpleEntry<>("X =", XField),
 			new SimpleEntry<>("y0 =", y0Field),
@@ -60,123 +69,262 @@ public class Main {
 	);
 
 
-	// Solvers and info about how to display
-	private static SolutionDisplayInfo exactSolverInfo = new SolutionDisplayInfo(new ExactMethod(), Color.RED, "Exact solution");
-	private static SolutionDisplayInfo[] numericalSolversInfo = new SolutionDisplayInfo[]{
-			new SolutionDisplayInfo(new EulerMethod(F), Color.GREEN, "Euler's method"),
-			new SolutionDisplayInfo(new ImprovedEulerMethod(F), Color.CYAN, "Improved Euler’s method"),
-			new SolutionDisplayInfo(new RungeKuttaMethod(F), Color.BLUE, "Runge-Kutta method"),
-	};
+	// Solvers and info about how to display, rebuilt when the equation changes
+	private static String equation;
+	private static SolvePipeline pipeline;
+	private static ResultCache cache = new ResultCache(Runtime.getRuntime().maxMemory() / 8);
 
 
 	// Solving and displaying
+	private static SolveWorker currentWorker;
+	// Restarted by every edit, so a burst of edits is solved once
+	private static Timer liveTimer = new Timer(LIVE_DELAY, e -> solveLive());
 	private static void solveAndDisplay(EventObject e) {
 		solveAndDisplay();
 	}
+	// Only the button takes the equation from its field
 	private static void solveAndDisplay() {
+		liveTimer.stop();
+
+		// Compile the equation if it was changed
+		String newEquation = equationField.getText().trim();
+		boolean equationChanged = !newEquation.equals(equation);
+		if (equationChanged) {
+			try {
+				pipeline = Methods.pipeline(newEquation, METHODS, cache);
+			} catch (IllegalArgumentException e) {
+				JOptionPane.showMessageDialog(window, e.getMessage());
+				return;
+			}
+			equation = newEquation;
+			// Results of the previous solvers can not be asked for anymore
+			cache.clear();
+			window.setTitle("Solutions of [ y' = " + equation + " ] by Sergey Semushin (BS18-05)");
+		}
+		solve(equationChanged);
+	}
+	// Edits of the initial conditions solve the equation which is already compiled, whatever is typed in its field
+	private static void solveLive() {
+		if (pipeline != null) {
+			solve(false);
+		}
+	}
+	private static void solve(boolean equationChanged) {
 		// Get initial conditions
 		double x0 = (double)x0Field.getValue();
 		double X = (double)XField.getValue();
 		double y0 = (double)y0Field.getValue();
 		int N = (int)NField.getValue();
-		double h = (X - x0) / N;
-
-		// Get array of indexes, Ns and rounded xs
-		double x = x0;
-		Integer[] is = new Integer[N+1];
-		Double[] rounded_xs = new Double[N+1];
-		for (int i = 0; i <= N; i++, x+=h) {
-			is[i] = i;
-			rounded_xs[i] = round(x);
+
+		// Cancel stale computation, its pending results will not be displayed
+		if (currentWorker != null) {
+			currentWorker.cancel(true);
 		}
 
-		// Clear previous solutions
-		solutionsGraph.clearAndSetNewGrid(x0, X, N+1);
-		errorsGraph.clearAndSetNewGrid(x0, X, N+1);
-		totalErrorGraph.clearAndSetNewGrid(1, N, N);
-		int tablesIndex = tablesTabs.getSelectedIndex();
-		tablesTabs.removeAll();
-
-		// Exact solution
-		double[] exactYs = exactSolverInfo.solver.solve(x0, y0, X, N);
-		Double[] roundedExactYs = new Double[N+1];
-		for (int i = 0; i <= N; i++) {
-			roundedExactYs[i] = round(exactYs[i]);
+		// Lines of the same equation stay until the new ones replace them, tables get new models as they are solved
+		if (equationChanged) {
+			solutionsGraph.clearAndSetNewGrid(x0, X, N+1);
+			errorsGraph.clearAndSetNewGrid(x0, X, N+1);
+			totalErrorGraph.clearAndSetNewGrid(1, N, N);
+		} else {
+			solutionsGraph.setGrid(x0, X, N+1);
+			errorsGraph.setGrid(x0, X, N+1);
+			totalErrorGraph.setGrid(1, N, N);
+		}
+		progressBar.setValue(0);
+
+		currentWorker = new SolveWorker(pipeline, x0, y0, X, N);
+		currentWorker.addPropertyChangeListener(e -> {
+			if ("progress".equals(e.getPropertyName()) && e.getSource() == currentWorker) {
+				progressBar.setValue((int)e.getNewValue());
+			}
+		});
+		currentWorker.execute();
+	}
+
+	// Solves in background and publishes displaying actions, which are run on the event dispatch thread
+	private static class SolveWorker extends SwingWorker<Void, Runnable> {
+		private final SolvePipeline pipeline;
+		private final SolutionDisplayInfo exactSolverInfo;
+		private final SolutionDisplayInfo[] numericalSolversInfo;
+		private final double x0, y0, X;
+		private final int N;
+
+		private final long totalWork;
+		private final AtomicLong doneWork = new AtomicLong();
+
+		// Total errors of the grids computed so far, which come in any order from the pool threads.
+		// The series is displayed up to the first grid which is not computed yet
+		private final String[] names;
+		private final double[][] partialErrorsN;
+		private final boolean[] computed;
+		private int computedPrefix;
+		private long lastPartialDisplay;
+
+		SolveWorker(SolvePipeline pipeline, double x0, double y0, double X, int N) {
+			this.pipeline = pipeline;
+			this.exactSolverInfo = pipeline.getExactSolverInfo();
+			this.numericalSolversInfo = pipeline.getNumericalSolversInfo();
+			this.x0 = x0;
+			this.y0 = y0;
+			this.X = X;
+			this.N = N;
+
+			names = new String[numericalSolversInfo.length];
+			for (int s = 0; s < names.length; s++) {
+				names[s] = numericalSolversInfo[s].name;
+			}
+			partialErrorsN = new double[names.length][N];
+			computed = new boolean[N];
+
+			// Work is measured in solved grid points
+			long solversCount = numericalSolversInfo.length + 1;
+			totalWork = solversCount * (N+1) + solversCount * ((long)N * (N+3) / 2);
 		}
-		solutionsGraph.addPolyline(exactYs, exactSolverInfo.color, exactSolverInfo.name);
 
-		// Total approximation error
-		DefaultTableModel totalErrorModel = new DefaultTableModel();
-		Integer[] Ns = new Integer[N];
-		for (int i = 1; i <= N; i++) {
-			Ns[i-1] = i;
+		private void addWork(long work) {
+			setProgress((int)Math.min(100, doneWork.addAndGet(work) * 100 / totalWork));
 		}
-		totalErrorModel.addColumn("N", Ns);
-
-		// Solve and display using each solver
-		for (SolutionDisplayInfo info: numericalSolversInfo) {
-			// Find dependence of error on N
-			Double[] roundedTotalErrorsN = new Double[N];
-			double[] totalErrorsN = new double[N];
-			for (int i = 1; i <= N; i++) {
-				double[] iYs = info.solver.solve(x0, y0, X, i);
-				double[] iExactYs = exactSolverInfo.solver.solve(x0, y0, X, i);
-				double totalError = -1;
-				for (int j = 0; j < iYs.length; j++) {
-					if (totalError < Math.abs(iYs[j] - iExactYs[j])) {
-						totalError = Math.abs(iYs[j] - iExactYs[j]);
-					}
+
+		private synchronized void addErrors(int n, double[] errors) {
+			for (int s = 0; s < errors.length; s++) {
+				partialErrorsN[s][n-1] = errors[s];
+			}
+			computed[n-1] = true;
+			while (computedPrefix < N && computed[computedPrefix]) {
+				computedPrefix++;
+			}
+
+			long now = System.currentTimeMillis();
+			if (computedPrefix == 0 || now - lastPartialDisplay < PARTIAL_DISPLAY_INTERVAL) return;
+			lastPartialDisplay = now;
+			double[][] prefix = new double[names.length][];
+			for (int s = 0; s < names.length; s++) {
+				prefix[s] = Arrays.copyOf(partialErrorsN[s], computedPrefix);
+			}
+			publish(() -> displayPartialTotalErrors(prefix));
+		}
+
+		@Override
+		protected Void doInBackground() {
+			SolvePipeline.Result result = pipeline.run(x0, y0, X, N, new SolvePipeline.Listener() {
+				@Override
+				public void exactSolved(double[] exactYs, ContinuousSolution exactCurve) {
+					addWork(N+1);
+					publish(() -> solutionsGraph.addCurve(exactCurve, exactSolverInfo.color, exactSolverInfo.name));
+				}
+
+				@Override
+				public void solverSolved(SolverResult result) {
+					addWork(N+1);
+					publish(() -> displaySolverResult(result));
+				}
+
+				@Override
+				public void errorsComputed(int n, double[] errors) {
+					addWork((long)(n+1) * errors.length + n+1);
+					addErrors(n, errors);
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return SolveWorker.this.isCancelled();
 				}
-				totalErrorsN[i-1] = totalError;
-				roundedTotalErrorsN[i-1] = round(totalErrorsN[i-1]);
+			});
+			if (result != null) {
+				publish(() -> displayTotalErrors(result));
 			}
-			totalErrorModel.addColumn(info.name, roundedTotalErrorsN);
-
-			// Find errors
-			double[] ys = info.solver.solve(x0, y0, X, N);
-			Double[] roundedYs = new Double[N+1];
-			double[] totalErrorsX = new double[N+1];
-			Double[] roundedTotalErrorsX = new Double[N+1];
-			double[] localErrorsX = new double[N+1];
-			Double[] roundedLocalErrorsX = new Double[N+1];
-			for (int i = 0; i <= N; i++) {
-				roundedYs[i] = round(ys[i]);
-				totalErrorsX[i] = Math.abs(ys[i] - exactYs[i]);
-				roundedTotalErrorsX[i] = round(totalErrorsX[i]);
-				localErrorsX[i] = (i == 0) ? 0 : Math.abs(totalErrorsX[i] - totalErrorsX[i-1]);
-				roundedLocalErrorsX[i] = round(localErrorsX[i]);
+			return null;
+		}
+
+		@Override
+		protected void process(List<Runnable> chunks) {
+			if (isCancelled()) return;
+			for (Runnable chunk: chunks) {
+				chunk.run();
 			}
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled()) return;
+			try {
+				get();
+			} catch (InterruptedException e) {
+				JOptionPane.showMessageDialog(window, "Could not solve: " + e);
+			} catch (ExecutionException e) {
+				JOptionPane.showMessageDialog(window, "Could not solve: " + e.getCause());
+			}
+		}
+
+		private void displaySolverResult(SolverResult result) {
+			SolutionDisplayInfo info = result.info;
 
 			// Add to graphs
-			solutionsGraph.addPolyline(ys, info.color, info.name);
-			errorsGraph.addPolyline(totalErrorsX, info.color, info.name + " (total)");
-			errorsGraph.addPolyline(localErrorsX, new Color(info.color.getRed()/2, info.color.getGreen()/2, info.color.getBlue()/2), info.name + " (local)");
-			totalErrorGraph.addPolyline(totalErrorsN, info.color, info.name);
+			solutionsGraph.addCurve(result.curve, info.color, info.name);
+			errorsGraph.addPolyline(result.totalErrors, info.color, info.name + " (total)");
+			errorsGraph.addPolyline(result.localErrors, new Color(info.color.getRed()/2, info.color.getGreen()/2, info.color.getBlue()/2), info.name + " (local)");
 
 			// Add to table
-			DefaultTableModel methodModel = new DefaultTableModel();
-			methodModel.addColumn("i", is);
-			methodModel.addColumn("x", rounded_xs);
-			methodModel.addColumn("approximated y", roundedYs);
-			methodModel.addColumn("exact y", roundedExactYs);
-			methodModel.addColumn("total error", roundedTotalErrorsX);
-			methodModel.addColumn("local error", roundedLocalErrorsX);
-			tablesTabs.add(info.name, new JScrollPane(new JTable(methodModel)));
+			addTableTab(info.name, new SolutionTableModel(x0, X, result.ys, result.exactYs));
+		}
+
+		private void displayPartialTotalErrors(double[][] prefix) {
+			for (int s = 0; s < numericalSolversInfo.length; s++) {
+				SolutionDisplayInfo info = numericalSolversInfo[s];
+				totalErrorGraph.addPartialPolyline(prefix[s], info.color, info.name);
+			}
+			addTableTab("Total approximation errors", new TotalErrorTableModel(names, prefix));
+		}
+
+		private void displayTotalErrors(SolvePipeline.Result result) {
+			double[][] totalErrorsN = result.totalErrorsN;
+			for (int s = 0; s < numericalSolversInfo.length; s++) {
+				SolutionDisplayInfo info = numericalSolversInfo[s];
+				totalErrorGraph.addPolyline(totalErrorsN[s], info.color, info.name);
+			}
+			addTableTab("Total approximation errors", new TotalErrorTableModel(names, totalErrorsN));
+			if (Metrics.ENABLED) {
+				SolveMetrics[] metrics = new SolveMetrics[result.solverResults.length];
+				for (int s = 0; s < metrics.length; s++) {
+					metrics[s] = result.solverResults[s].metrics;
+				}
+				addTableTab("Metrics", new MetricsTableModel(metrics));
+			}
+			progressBar.setValue(100);
+		}
+
+		// The table of an existing tab gets the new model, so the tab stays selected and scrolled where it was
+		private void addTableTab(String name, TableModel model) {
+			RenderEvent event = new RenderEvent();
+			event.begin();
+			int index = tablesTabs.indexOfTab(name);
+			if (index < 0) {
+				tablesTabs.add(name, new JScrollPane(new JTable(model)));
+			} else {
+				JTable table = (JTable)((JScrollPane)tablesTabs.getComponentAt(index)).getViewport().getView();
+				// Widths of the columns are kept while the columns are the same
+				table.setAutoCreateColumnsFromModel(table.getModel().getColumnCount() != model.getColumnCount());
+				table.setModel(model);
+			}
+			if (event.shouldCommit()) {
+				event.component = name + " table";
+				event.size = model.getRowCount();
+				event.commit();
+			}
 		}
-		tablesTabs.add("Total approximation errors", new JScrollPane(new JTable(totalErrorModel)));
-		tablesTabs.setSelectedIndex(Math.max(0, tablesIndex));
 	}
 
 
 	// Adding GUI components
 	public static void main(String[] args) {
 		// Window
+		window = new JFrame();
 		window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		window.setLayout(new GridBagLayout());
 		window.setExtendedState(window.getExtendedState() | JFrame.MAXIMIZED_BOTH);
 		window.setSize(1300, 600);
 		window.setMinimumSize(new Dimension(1200, 600));
-		window.setTitle("Solutions of [ y' = 2e^x - y ] by Sergey Semushin (BS18-05)");
 		GridBagConstraints constraints;
 
 
@@ -246,6 +394,16 @@ public class Main {
 		));
 
 
+		// Add progress bar
+		window.add(progressBar, new GridBagConstraints(
+				0, fields.size(),
+				3, 1,
+				0, 0,
+				GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(2, 5, 2, 0),
+				0, 0
+		));
+
+
 		// Add listeners and sizes
 		for (JFormattedTextField field: new JFormattedTextField[]{x0Field, XField}) {
 			field.addPropertyChangeListener("value", e -> {
@@ -255,11 +413,13 @@ public class Main {
 				}
 			});
 		}
+		equationField.setHorizontalAlignment(JTextField.RIGHT);
 		for (JFormattedTextField field: new JFormattedTextField[]{x0Field, y0Field, XField}) {
 			field.setHorizontalAlignment(JFormattedTextField.RIGHT);
-			//field.addPropertyChangeListener("value", Main::solveAndDisplay);
+			field.addPropertyChangeListener("value", e -> liveTimer.restart());
 		}
-		//NField.addChangeListener(Main::solveAndDisplay);
+		NField.addChangeListener(e -> liveTimer.restart());
+		liveTimer.setRepeats(false);
 		for (SimpleEntry<String, JComponent> field : fields) {
 			Dimension size = new Dimension(100, 25);
 			field.getValue().setMinimumSize(size);
@@ -0,0 +1,46 @@
+package com.company;
+
+import java.util.function.DoubleUnaryOperator;
+
+// Finds the max error against the exact solution on the fly, without storing the approximation
+public class MaxErrorSink implements SolutionSink {
+    private final DoubleUnaryOperator exactSolution;
+    private final double errorLimit;
+
+    private double maxError = -1;
+    private int maxErrorIndex = -1;
+    private int points;
+
+    public MaxErrorSink(DoubleUnaryOperator exactSolution) {
+        this(exactSolution, Double.POSITIVE_INFINITY);
+    }
+
+    // Solving is stopped as soon as the error exceeds errorLimit
+    public MaxErrorSink(DoubleUnaryOperator exactSolution, double errorLimit) {
+        this.exactSolution = exactSolution;
+        this.errorLimit = errorLimit;
+    }
+
+    @Override
+    public boolean accept(int i, double x, double y) {
+        double error = Math.abs(y - exactSolution.applyAsDouble(x));
+        if (maxError < error) {
+            maxError = error;
+            maxErrorIndex = i;
+        }
+        points++;
+        return error <= errorLimit;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public int getMaxErrorIndex() {
+        return maxErrorIndex;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+}
@@ -0,0 +1,75 @@
+package com.company;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+// Solvers by name, shared by the window and the headless runner
+public class Methods {
+    public static final String[] ALL = {"euler", "improved-euler", "runge-kutta", "dormand-prince", "adaptive-dp", "midpoint", "heun", "ralston", "rk3", "ssprk3", "three-eighths", "adams", "parareal", "backward-euler", "trapezoidal", "rosenbrock"};
+    public static final String[] DEFAULT = {"euler", "improved-euler", "runge-kutta"};
+    // Methods which need ∂f/∂y, only rosenbrock needs ∂f/∂x as well
+    private static final String[] IMPLICIT = {"backward-euler", "trapezoidal", "rosenbrock"};
+
+    public static SolutionDisplayInfo create(String name, DoubleBinaryOperator f) {
+        return create(name, f, null, null);
+    }
+
+    public static SolutionDisplayInfo create(String name, DoubleBinaryOperator f, DoubleBinaryOperator dfdy, DoubleBinaryOperator dfdx) {
+        return create(name, f, dfdy, dfdx, DormandPrinceMethod.DEFAULT_RTOL, DormandPrinceMethod.DEFAULT_ATOL);
+    }
+
+    // dfdy and dfdx are ∂f/∂y and ∂f/∂x for the implicit methods, they estimate the derivatives which are null.
+    // rtol and atol are the tolerances of the adaptive method
+    public static SolutionDisplayInfo create(String name, DoubleBinaryOperator f, DoubleBinaryOperator dfdy, DoubleBinaryOperator dfdx,
+                                             double rtol, double atol) {
+        // Every method counts its own evaluations
+        f = Metrics.counted(f);
+        switch (name) {
+            case "euler": return new SolutionDisplayInfo(new EulerMethod(f), Color.GREEN, "Euler's method");
+            case "improved-euler": return new SolutionDisplayInfo(new ImprovedEulerMethod(f), Color.CYAN, "Improved Euler’s method");
+            case "runge-kutta": return new SolutionDisplayInfo(new RungeKuttaMethod(f), Color.BLUE, "Runge-Kutta method");
+            case "dormand-prince": return new SolutionDisplayInfo(new DormandPrinceMethod(f), Color.MAGENTA, "Dormand-Prince method");
+            case "adaptive-dp": return new SolutionDisplayInfo(new AdaptiveDormandPrinceMethod(f, rtol, atol), new Color(192, 0, 255), "Adaptive Dormand-Prince");
+            case "midpoint": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.MIDPOINT), new Color(128, 0, 128), "Midpoint method");
+            case "heun": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.HEUN), new Color(128, 0, 64), "Heun's method");
+            case "ralston": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.RALSTON), new Color(0, 128, 128), "Ralston's method");
+            case "rk3": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.RK3), new Color(128, 128, 0), "Kutta's third-order method");
+            case "ssprk3": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.SSPRK3), new Color(64, 128, 0), "SSP third-order method");
+            case "three-eighths": return new SolutionDisplayInfo(new ExplicitRungeKuttaMethod(f, ButcherTableau.THREE_EIGHTHS), new Color(0, 0, 128), "3/8-rule Runge-Kutta method");
+            case "adams": return new SolutionDisplayInfo(new AdamsBashforthMoultonMethod(f), new Color(0, 128, 0), "Adams-Bashforth-Moulton method");
+            case "parareal": return new SolutionDisplayInfo(new PararealMethod(f), new Color(128, 64, 0), "Parareal method");
+            case "backward-euler": return new SolutionDisplayInfo(new BackwardEulerMethod(f, dfdy), Color.ORANGE, "Backward Euler method");
+            case "trapezoidal": return new SolutionDisplayInfo(new TrapezoidalMethod(f, dfdy), Color.PINK, "Trapezoidal method");
+            case "rosenbrock": return new SolutionDisplayInfo(new RosenbrockMethod(f, dfdy, dfdx), Color.DARK_GRAY, "Rosenbrock method");
+            default: throw new IllegalArgumentException("Unknown method " + name + ", known methods are " + String.join(", ", ALL));
+        }
+    }
+
+    public static SolvePipeline pipeline(String equation, String... methods) {
+        return pipeline(equation, methods, null);
+    }
+
+    public static SolvePipeline pipeline(String equation, String[] methods, ResultCache cache) {
+        return pipeline(equation, methods, cache, DormandPrinceMethod.DEFAULT_RTOL, DormandPrinceMethod.DEFAULT_ATOL);
+    }
+
+    public static SolvePipeline pipeline(String equation, String[] methods, ResultCache cache, double rtol, double atol) {
+        Expression expression = ExpressionParser.parse(equation);
+        DoubleBinaryOperator f = ExpressionCompiler.compile(expression);
+        // Symbolic derivatives are built only for the methods which use them
+        boolean implicit = Arrays.stream(methods).anyMatch(Arrays.asList(IMPLICIT)::contains);
+        DoubleBinaryOperator dfdy = implicit ? ExpressionCompiler.compile(ExpressionParser.derivative(expression, Expression.Kind.Y)) : null;
+        DoubleBinaryOperator dfdx = Arrays.asList(methods).contains("rosenbrock")
+                ? ExpressionCompiler.compile(ExpressionParser.derivative(expression, Expression.Kind.X)) : null;
+
+        // The exact solution is known only for the default equation
+        SolutionDisplayInfo exactSolverInfo = (expression.equals(ExpressionParser.parse(Main.DEFAULT_EQUATION)))
+                ? new SolutionDisplayInfo(new ExactMethod(), Color.RED, "Exact solution")
+                : new SolutionDisplayInfo(new ExactMethod(f, new NumericalReference(f)), Color.RED, "Reference solution");
+        SolutionDisplayInfo[] numericalSolversInfo = Arrays.stream(methods)
+                .map(name -> create(name, f, dfdy, dfdx, rtol, atol))
+                .toArray(SolutionDisplayInfo[]::new);
+        return new SolvePipeline(exactSolverInfo, numericalSolversInfo, cache);
+    }
+}
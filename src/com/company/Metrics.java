@@ -0,0 +1,34 @@
+package com.company;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.DoubleBinaryOperator;
+
+// Instrumentation of solving, turned on with -Ddesolver.metrics=true.
+// The flag is a constant, so when it is off the JIT removes the measuring code and f is not wrapped at all
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("desolver.metrics");
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Metrics() {
+    }
+
+    // f which counts its evaluations if the metrics are on, f itself otherwise
+    public static DoubleBinaryOperator counted(DoubleBinaryOperator f) {
+        return ENABLED ? new EvaluationCounter(f) : f;
+    }
+
+    // Evaluations of f by the solver on the current thread so far, 0 if they are not counted
+    static long evaluations(DESolver solver) {
+        return (solver.f instanceof EvaluationCounter) ? ((EvaluationCounter) solver.f).getThreadEvaluations() : 0;
+    }
+
+    // Bytes allocated by the current thread so far, -1 if the JVM can not tell
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.company;
+
+import javax.swing.table.AbstractTableModel;
+
+// Cost of the solutions of each method, shown when the metrics are on
+public class MetricsTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"method", "evaluations per step", "ns per step", "allocated bytes", "Parareal iterations", "Parareal speedup", "cached"};
+
+    private final SolveMetrics[] metrics;
+
+    public MetricsTableModel(SolveMetrics[] metrics) {
+        this.metrics = metrics.clone();
+    }
+
+    @Override
+    public int getRowCount() {
+        return metrics.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        SolveMetrics solveMetrics = metrics[row];
+        switch (column) {
+            case 0: return solveMetrics.name;
+            case 1: return Main.round(solveMetrics.getEvaluationsPerStep(), 2);
+            case 2: return Main.round(solveMetrics.getNanosPerStep(), 1);
+            case 3: return solveMetrics.allocatedBytes;
+            case 4: return solveMetrics.isParareal() ? (Object)solveMetrics.pararealIterations : "";
+            case 5: return solveMetrics.isParareal() ? (Object)Main.round(solveMetrics.pararealSpeedup, 2) : "";
+            case 6: return solveMetrics.cached ? "yes" : "no";
+            default: throw new IndexOutOfBoundsException("No column " + column);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.company;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+
+// Reference for equations without a known solution: Runge-Kutta on a fine grid improved by Richardson extrapolation,
+// with cubic Hermite interpolation between the nodes. Solutions are remembered for the last few initial conditions
+public class NumericalReference implements ReferenceProvider {
+    public static final int DEFAULT_STEPS = 1 << 14;
+    private static final int CACHE_SIZE = 8;
+
+    private final DoubleBinaryOperator f;
+    private final int steps;
+    private final Map<Key, ContinuousSolution> cache = new LinkedHashMap<Key, ContinuousSolution>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ContinuousSolution> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public NumericalReference(DoubleBinaryOperator f) {
+        this(f, DEFAULT_STEPS);
+    }
+
+    public NumericalReference(DoubleBinaryOperator f, int steps) {
+        if (steps < 1) throw new IllegalArgumentException("There should be at least one step");
+        this.f = f;
+        this.steps = steps;
+    }
+
+    // Synchronized, so the convergence study computes the reference once even though it binds from many threads
+    @Override
+    public synchronized ContinuousSolution bind(double x0, double y0, double X) {
+        return cache.computeIfAbsent(new Key(x0, y0, X), key -> solve(x0, y0, X));
+    }
+
+    private ContinuousSolution solve(double x0, double y0, double X) {
+        RungeKuttaMethod method = new RungeKuttaMethod(f);
+        double[] coarse = method.solve(x0, y0, X, steps);
+        double[] fine = method.solve(x0, y0, X, 2 * steps);
+
+        // Runge-Kutta error is O(h^4), so (16*fine - coarse)/15 cancels its main term
+        double[] ys = new double[steps + 1];
+        for (int i = 0; i <= steps; i++) {
+            ys[i] = fine[2*i] + (fine[2*i] - coarse[i]) / 15;
+        }
+        return DenseOutput.uniform(x0, X, ys, f);
+    }
+
+    private static final class Key {
+        private final double x0, y0, X;
+
+        Key(double x0, double y0, double X) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.X = X;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Double.compare(key.x0, x0) == 0 && Double.compare(key.y0, y0) == 0 && Double.compare(key.X, X) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x0, y0, X);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Parareal on a uniform grid, with Euler's method as the coarse solver and Runge-Kutta as the fine one, so its points
+// are the ones of the Runge-Kutta method found on all cores. A single step is the step of the fine solver
+public class PararealMethod extends DESolver {
+    public static final int DEFAULT_SLICES = Runtime.getRuntime().availableProcessors();
+
+    private final int slices;
+    private final RungeKuttaMethod fine;
+    // Last solve of each thread, the convergence study solves on many threads at once
+    private final ThreadLocal<PararealSolution> lastSolution = new ThreadLocal<>();
+
+    public PararealMethod(DoubleBinaryOperator f) {
+        this(f, DEFAULT_SLICES);
+    }
+
+    public PararealMethod(DoubleBinaryOperator f, int slices) {
+        super(f);
+        if (slices < 1) throw new IllegalArgumentException("There should be at least one slice");
+        this.slices = slices;
+        this.fine = new RungeKuttaMethod(f);
+    }
+
+    @Override
+    public double[] solve(double x0, double y0, double X, int N) {
+        if (!(f instanceof EvaluationCounter)) {
+            return solve(f, x0, y0, X, N).ys;
+        }
+        // Slices are solved in the fork-join pool, so the evaluations of this solve are counted on their own
+        // and added to the thread which started it
+        EvaluationCounter counter = (EvaluationCounter) f;
+        EvaluationCounter solveCounter = new EvaluationCounter(counter.getFunction());
+        double[] ys = solve(solveCounter, x0, y0, X, N).ys;
+        counter.addThreadEvaluations(solveCounter.getEvaluations());
+        return ys;
+    }
+
+    private PararealSolution solve(DoubleBinaryOperator f, double x0, double y0, double X, int N) {
+        PararealSolution solution = new PararealSolver(new EulerMethod(f), new RungeKuttaMethod(f), slices).solve(x0, y0, X, N);
+        // Only the counters are kept, so the threads of the pool do not hold on to whole solutions
+        lastSolution.set(new PararealSolution(new double[0], solution.slices, solution.iterations, solution.nanos, solution.sequentialNanos));
+        return solution;
+    }
+
+    // Iterations and timing of the last solve made on the current thread without its values, null if there was none
+    public PararealSolution getLastSolution() {
+        return lastSolution.get();
+    }
+
+    // Points are found all at once and then passed to the sink
+    @Override
+    public int solve(double x0, double y0, double X, int N, SolutionSink sink) {
+        double[] ys = solve(x0, y0, X, N);
+        double h = (X - x0) / N;
+        int i = 0;
+        try {
+            for (; i <= N; i++) {
+                if (!sink.accept(i, x0 + i*h, ys[i])) {
+                    return i + 1;
+                }
+            }
+            return i;
+        } finally {
+            sink.end();
+        }
+    }
+
+    @Override
+    protected Stepper createStepper(double x0, double y0) {
+        return fine.createStepper(x0, y0);
+    }
+
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return fine.getNextApproximation(x0, y0, xi, yi, h);
+    }
+}
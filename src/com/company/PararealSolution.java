@@ -0,0 +1,29 @@
+package com.company;
+
+public class PararealSolution {
+    public final double[] ys;
+    public final int slices;
+    public final int iterations;
+    // Wall-clock time of the whole solve
+    public final long nanos;
+    // Time the first fine sweep would take on one core, the cost of the sequential solve
+    public final long sequentialNanos;
+
+    public PararealSolution(double[] ys, int slices, int iterations, long nanos, long sequentialNanos) {
+        this.ys = ys;
+        this.slices = slices;
+        this.iterations = iterations;
+        this.nanos = nanos;
+        this.sequentialNanos = sequentialNanos;
+    }
+
+    // Measured speedup over the sequential fine solve
+    public double getSpeedup() {
+        return (double)sequentialNanos / nanos;
+    }
+
+    // Best speedup possible with this number of iterations if the coarse propagator cost nothing
+    public double getSpeedupBound() {
+        return (double)slices / iterations;
+    }
+}
@@ -0,0 +1,140 @@
+package com.company;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Parallel-in-time solving (Lions, Maday, Turinici, 2001). The interval is cut into slices, the fine solver runs on all
+// slices at once from the current guesses at their starts, and the cheap coarse solver sweeps the slices sequentially
+// correcting the guesses:
+//   U(k+1) = G(U(k)) + F(U_old(k)) - G(U_old(k))
+// After j iterations the first j slices are exact, so at most as many iterations as slices are needed,
+// and the speedup is roughly slices / iterations while the coarse sweep stays cheap
+public class PararealSolver {
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+
+    private final DESolver coarse;
+    private final int coarseSteps;
+    private final DESolver fine;
+    private final int slices;
+    private final double tolerance;
+    private final ForkJoinPool pool;
+
+    public PararealSolver(DESolver coarse, DESolver fine, int slices) {
+        this(coarse, 1, fine, slices, DEFAULT_TOLERANCE, ForkJoinPool.commonPool());
+    }
+
+    // coarseSteps is the number of steps of the coarse solver per slice
+    public PararealSolver(DESolver coarse, int coarseSteps, DESolver fine, int slices, double tolerance, ForkJoinPool pool) {
+        if (coarseSteps < 1) throw new IllegalArgumentException("Coarse solver should make at least one step");
+        if (slices < 1) throw new IllegalArgumentException("There should be at least one slice");
+        if (tolerance < 0) throw new IllegalArgumentException("Tolerance can not be negative");
+        this.coarse = coarse;
+        this.coarseSteps = coarseSteps;
+        this.fine = fine;
+        this.slices = slices;
+        this.tolerance = tolerance;
+        this.pool = pool;
+    }
+
+    // Same N+1 points as the fine solver on the whole interval, within the tolerance
+    public PararealSolution solve(double x0, double y0, double X, int N) {
+        if (x0 > X) throw new IllegalArgumentException("The end of interval can not be before the start");
+        if (N < 1) throw new IllegalArgumentException("There should be at least one step");
+        long start = System.nanoTime();
+
+        int P = Math.min(slices, N);
+        double h = (X - x0) / N;
+        int[] starts = new int[P + 1];
+        double[] xs = new double[P + 1];
+        for (int k = 0; k <= P; k++) {
+            starts[k] = (int)((long)N * k / P);
+            xs[k] = (k == P) ? X : x0 + starts[k] * h;
+        }
+
+        double[] ys = new double[N + 1];
+        // Guesses at the starts of the slices, and the coarse and the fine values at their ends
+        double[] U = new double[P + 1];
+        double[] G = new double[P];
+        double[] F = new double[P];
+        long[] sliceNanos = new long[P];
+        U[0] = y0;
+        for (int k = 0; k < P; k++) {
+            G[k] = propagate(coarse, xs[k], U[k], xs[k+1], coarseSteps, null, 0);
+            U[k+1] = G[k];
+        }
+
+        long sequentialNanos = 0;
+        int iterations = 0;
+        while (true) {
+            // Slices before the first changed guess are exact already and are not solved again
+            int first = iterations;
+            iterations++;
+            pool.invoke(new SliceTask(first, P, xs, starts, U, F, ys, sliceNanos));
+            if (iterations == 1) {
+                for (long nanos: sliceNanos) {
+                    sequentialNanos += nanos;
+                }
+            }
+
+            double change = 0;
+            for (int k = first; k < P; k++) {
+                double g = propagate(coarse, xs[k], U[k], xs[k+1], coarseSteps, null, 0);
+                double u = g + F[k] - G[k];
+                G[k] = g;
+                change = Math.max(change, Math.abs(u - U[k+1]) / Math.max(1, Math.abs(u)));
+                U[k+1] = u;
+            }
+            if (change <= tolerance || iterations == P) break;
+        }
+        ys[N] = F[P-1];
+        return new PararealSolution(ys, P, iterations, System.nanoTime() - start, sequentialNanos);
+    }
+
+    // Solves from (xa, ya) to xb and returns the last value. Points but the last one are written to ys from offset
+    // if it is given, the last one belongs to the next slice
+    private static double propagate(DESolver solver, double xa, double ya, double xb, int steps, double[] ys, int offset) {
+        double[] last = new double[1];
+        solver.solve(xa, ya, xb, steps, (i, x, y) -> {
+            if (ys != null && i < steps) {
+                ys[offset + i] = y;
+            }
+            last[0] = y;
+            return true;
+        });
+        return last[0];
+    }
+
+    private class SliceTask extends RecursiveAction {
+        private final int from, to;
+        private final double[] xs;
+        private final int[] starts;
+        private final double[] U, F, ys;
+        private final long[] sliceNanos;
+
+        SliceTask(int from, int to, double[] xs, int[] starts, double[] U, double[] F, double[] ys, long[] sliceNanos) {
+            this.from = from;
+            this.to = to;
+            this.xs = xs;
+            this.starts = starts;
+            this.U = U;
+            this.F = F;
+            this.ys = ys;
+            this.sliceNanos = sliceNanos;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                long start = System.nanoTime();
+                F[from] = propagate(fine, xs[from], U[from], xs[from+1], starts[from+1] - starts[from], ys, starts[from]);
+                sliceNanos[from] = System.nanoTime() - start;
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new SliceTask(from, middle, xs, starts, U, F, ys, sliceNanos),
+                    new SliceTask(middle, to, xs, starts, U, F, ys, sliceNanos)
+            );
+        }
+    }
+}
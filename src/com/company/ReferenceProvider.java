@@ -0,0 +1,7 @@
+package com.company;
+
+@FunctionalInterface
+public interface ReferenceProvider {
+    // Solution of the equation with y(x0) = y0, valid at least on [x0, X]
+    ContinuousSolution bind(double x0, double y0, double X);
+}
@@ -0,0 +1,18 @@
+package com.company;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.company.Render")
+@Label("Render")
+@Category("DE-solver")
+@Description("Rendering of a graph or building of a table")
+class RenderEvent extends jdk.jfr.Event {
+    @Label("Component")
+    String component;
+
+    @Label("Rows or Polylines")
+    int size;
+}
@@ -0,0 +1,159 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Solutions and total errors of solved problems, least recently used entries are evicted once they take too much memory.
+// Entries are keyed by the identity of the solver, which is rebuilt only when the equation changes.
+// Returned arrays are shared, so they should not be modified
+public class ResultCache {
+    // Approximate size of an entry without its arrays
+    private static final long ENTRY_BYTES = 128;
+
+    private final long maxBytes;
+    private long bytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Size of the cache can not be negative");
+        this.maxBytes = maxBytes;
+    }
+
+    // Solution stored for the problem, or null
+    public double[] getSolution(DESolver solver, double x0, double y0, double X, int N) {
+        Entry cached = get(new Key(solver, x0, y0, X, N));
+        return (cached == null) ? null : cached.arrays[0];
+    }
+
+    // Cost of the solve which computed the stored solution, or null if it was not measured
+    public SolveMetrics getMetrics(DESolver solver, double x0, double y0, double X, int N) {
+        Entry cached = get(new Key(solver, x0, y0, X, N));
+        return (cached == null) ? null : cached.metrics;
+    }
+
+    // Metrics may be null
+    public void putSolution(DESolver solver, double x0, double y0, double X, int N, double[] ys, SolveMetrics metrics) {
+        put(new Key(solver, x0, y0, X, N), new Entry(new double[][]{ys}, metrics));
+    }
+
+    // Returns totalErrors[s][n-1] for n in 1..N. The series is stored once per initial conditions and only grows:
+    // a smaller N takes its prefix, a larger N computes only the missing tail
+    public double[][] totalErrors(ConvergenceStudy study, double x0, double y0, double X, int N, ConvergenceStudy.Listener listener) {
+        Key key = new Key(study, x0, y0, X, 0);
+        Entry entry = get(key);
+        double[][] cached = (entry == null) ? null : entry.arrays;
+        if (cached != null && (cached.length == 0 || cached[0].length >= N)) {
+            return prefix(cached, N);
+        }
+
+        double[][] totalErrors = (cached == null) ? study.run(x0, y0, X, N, listener) : extend(study, cached, x0, y0, X, N, listener);
+        put(key, new Entry(totalErrors, null));
+        return totalErrors;
+    }
+
+    private static double[][] prefix(double[][] series, int N) {
+        double[][] prefix = new double[series.length][];
+        for (int s = 0; s < series.length; s++) {
+            prefix[s] = (series[s].length == N) ? series[s] : Arrays.copyOf(series[s], N);
+        }
+        return prefix;
+    }
+
+    private static double[][] extend(ConvergenceStudy study, double[][] series, double x0, double y0, double X, int N, ConvergenceStudy.Listener listener) {
+        int cachedN = series[0].length;
+        double[][] extended = new double[series.length][];
+        for (int s = 0; s < series.length; s++) {
+            extended[s] = Arrays.copyOf(series[s], N);
+        }
+        // Cached grids are reported as well, so the listener sees the whole series as it would be computed
+        if (listener != null) {
+            for (int n = 1; n <= cachedN; n++) {
+                double[] errors = new double[series.length];
+                for (int s = 0; s < series.length; s++) {
+                    errors[s] = series[s][n-1];
+                }
+                listener.errorsComputed(n, errors);
+            }
+        }
+        study.run(x0, y0, X, cachedN + 1, N, extended, listener);
+        return extended;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    // Computing is done outside of the lock, so a cancelled solution does not hold up the next one
+    private synchronized Entry get(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(Key key, Entry value) {
+        long size = value.size();
+        if (size > maxBytes) return;
+        Entry previous = entries.put(key, value);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+        bytes += size;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final double[][] arrays;
+        private final SolveMetrics metrics;
+
+        Entry(double[][] arrays, SolveMetrics metrics) {
+            this.arrays = arrays;
+            this.metrics = metrics;
+        }
+
+        long size() {
+            long size = ENTRY_BYTES;
+            for (double[] array: arrays) {
+                size += 16 + (long)array.length * Double.BYTES;
+            }
+            return size;
+        }
+    }
+
+    private static final class Key {
+        private final Object owner;
+        private final double x0, y0, X;
+        private final int N;
+
+        Key(Object owner, double x0, double y0, double X, int N) {
+            this.owner = owner;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.X = X;
+            this.N = N;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return owner == key.owner && N == key.N
+                    && Double.compare(key.x0, x0) == 0 && Double.compare(key.y0, y0) == 0 && Double.compare(key.X, X) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(owner), x0, y0, X, N);
+        }
+    }
+}
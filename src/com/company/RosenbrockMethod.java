@@ -0,0 +1,41 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// Two stage Rosenbrock method ROS2 (Verwer, Spee, Blom, Hundsdorfer, 1999), second order and L-stable.
+// Instead of iterating it solves two linear equations with the derivatives at the start of the step, x is treated as
+// one more unknown, so that the order does not drop on stiff problems depending on x
+//   (1 - g*h*J) k1 = f(x, y) + g*h*fx
+//   (1 - g*h*J) k2 = f(x + h, y + h*k1) - 2*k1 - g*h*fx
+//   y(x + h) = y + 3/2*h*k1 + 1/2*h*k2
+public class RosenbrockMethod extends ImplicitMethod {
+    private static final double GAMMA = 1 + 1 / Math.sqrt(2);
+
+    // May be null
+    private final DoubleBinaryOperator dfdx;
+
+    public RosenbrockMethod(DoubleBinaryOperator f) {
+        this(f, null, null);
+    }
+
+    public RosenbrockMethod(DoubleBinaryOperator f, DoubleBinaryOperator dfdy, DoubleBinaryOperator dfdx) {
+        super(f, dfdy);
+        this.dfdx = dfdx;
+    }
+
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        double fi = f.applyAsDouble(xi, yi);
+        double factor = 1 / (1 - GAMMA*h*jacobian(xi, yi, fi));
+        double fx = GAMMA*h*timeDerivative(xi, yi, fi);
+        double k1 = (fi + fx) * factor;
+        double k2 = (f.applyAsDouble(xi + h, yi + h*k1) - 2*k1 - fx) * factor;
+        return yi + 1.5*h*k1 + 0.5*h*k2;
+    }
+
+    private double timeDerivative(double x, double y, double fxy) {
+        if (dfdx != null) return dfdx.applyAsDouble(x, y);
+        double delta = Math.sqrt(Math.ulp(1.0)) * Math.max(1, Math.abs(x));
+        return (f.applyAsDouble(x + delta, y) - fxy) / delta;
+    }
+}
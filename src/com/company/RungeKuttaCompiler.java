@@ -0,0 +1,134 @@
+package com.company;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleBinaryOperator;
+
+// Generates a step of an explicit Runge-Kutta method with the coefficients of its tableau as constants.
+// Stages are unrolled, zero coefficients are left out and unit ones are not multiplied by, so the generated step is
+// the same code as a hand-written method. Steps are generated once per tableau and shared by all right-hand sides
+final class RungeKuttaCompiler {
+    private static final String CLASS_NAME = "com/company/CompiledRungeKuttaStep";
+    private static final String STEP = "com/company/RungeKuttaCompiler$Step";
+    private static final String OPERATOR = "java/util/function/DoubleBinaryOperator";
+    // The right-hand side is the first argument, in slot 1
+    private static final int X_SLOT = 2;
+    private static final int Y_SLOT = 4;
+    private static final int H_SLOT = 6;
+    private static final int FIRST_STAGE_SLOT = 8;
+
+    private static final Map<ButcherTableau, Step> steps = new ConcurrentHashMap<>();
+
+    interface Step {
+        double step(DoubleBinaryOperator f, double x, double y, double h);
+    }
+
+    private final ButcherTableau tableau;
+    private final ClassFileWriter writer = new ClassFileWriter(CLASS_NAME, "java/lang/Object", STEP);
+    private final ClassFileWriter.Method method;
+    private int stack;
+
+    private RungeKuttaCompiler(ButcherTableau tableau) {
+        this.tableau = tableau;
+        writer.defaultConstructor("java/lang/Object");
+        method = writer.method(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL, "step", "(L" + OPERATOR + ";DDD)D");
+    }
+
+    static Step compile(ButcherTableau tableau) {
+        return steps.computeIfAbsent(tableau, key -> new RungeKuttaCompiler(key).generate());
+    }
+
+    private Step generate() {
+        int stages = tableau.getStages();
+        if (FIRST_STAGE_SLOT + 2*stages > 0x100) throw new IllegalArgumentException("Too many stages in " + tableau);
+
+        // k(i) = f(x + c(i)*h, y + h*sum(a(i,j)*k(j)))
+        for (int i = 0; i < stages; i++) {
+            // Stages which do not contribute to the result or to other stages are not computed
+            if (!isUsed(i)) continue;
+            double[] weights = new double[i];
+            for (int j = 0; j < i; j++) {
+                weights[j] = tableau.a(i, j);
+            }
+            method.op(ClassFileWriter.ALOAD_1);
+            stack++;
+            emitStep(X_SLOT, tableau.c(i), new double[0]);
+            emitStep(Y_SLOT, 0, weights);
+            method.invokeInterface(writer.interfaceMethodRef(OPERATOR, "applyAsDouble", "(DD)D"), 5);
+            // The receiver and two arguments are replaced by the result
+            stack -= 3;
+            method.local(ClassFileWriter.DSTORE, stageSlot(i));
+            stack -= 2;
+        }
+
+        // y + h*sum(b(i)*k(i))
+        double[] weights = new double[stages];
+        for (int i = 0; i < stages; i++) {
+            weights[i] = tableau.b(i);
+        }
+        emitStep(Y_SLOT, 0, weights);
+        method.op(ClassFileWriter.DRETURN);
+        method.maxLocals = FIRST_STAGE_SLOT + 2*stages;
+        return writer.newInstance(Step.class);
+    }
+
+    // Pushes value + h*(constant + sum(weights(j)*k(j)))
+    private void emitStep(int slot, double constant, double[] weights) {
+        load(slot);
+        boolean hasSum = false;
+        if (constant != 0) {
+            emitConstant(constant);
+            hasSum = true;
+        }
+        for (int j = 0; j < weights.length; j++) {
+            if (weights[j] == 0) continue;
+            load(stageSlot(j));
+            if (weights[j] != 1) {
+                emitConstant(weights[j]);
+                emit(ClassFileWriter.DMUL);
+            }
+            if (hasSum) {
+                emit(ClassFileWriter.DADD);
+            }
+            hasSum = true;
+        }
+        if (!hasSum) return;
+        load(H_SLOT);
+        emit(ClassFileWriter.DMUL);
+        emit(ClassFileWriter.DADD);
+    }
+
+    private boolean isUsed(int stage) {
+        if (tableau.b(stage) != 0) return true;
+        for (int i = stage + 1; i < tableau.getStages(); i++) {
+            if (tableau.a(i, stage) != 0 && isUsed(i)) return true;
+        }
+        return false;
+    }
+
+    private static int stageSlot(int stage) {
+        return FIRST_STAGE_SLOT + 2*stage;
+    }
+
+    private void emitConstant(double value) {
+        method.op(ClassFileWriter.LDC2_W, writer.doubleConstant(value));
+        push();
+    }
+
+    private void load(int slot) {
+        method.local(ClassFileWriter.DLOAD, slot);
+        push();
+    }
+
+    // Binary operations on doubles
+    private void emit(int opcode) {
+        method.op(opcode);
+        stack -= 2;
+    }
+
+    // A double takes two words of the operand stack
+    private void push() {
+        stack += 2;
+        method.maxStack = Math.max(method.maxStack, stack);
+    }
+}
@@ -0,0 +1,45 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+public class RungeKuttaSystemMethod extends SystemSolver {
+
+    public RungeKuttaSystemMethod(DESystem f, int dimension) {
+        super(f, dimension);
+    }
+
+    public RungeKuttaSystemMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    @Override
+    protected Stepper createStepper() {
+        double[] k1 = new double[dimension];
+        double[] k2 = new double[dimension];
+        double[] k3 = new double[dimension];
+        double[] k4 = new double[dimension];
+        double[] tmp = new double[dimension];
+        // Same arithmetic as RungeKuttaMethod, so a system of one equation gives the same points
+        return (x, y, h) -> {
+            f.apply(x, y, k1);
+            for (int j = 0; j < dimension; j++) {
+                k1[j] *= h;
+                tmp[j] = y[j] + k1[j]/2;
+            }
+            f.apply(x + h/2, tmp, k2);
+            for (int j = 0; j < dimension; j++) {
+                k2[j] *= h;
+                tmp[j] = y[j] + k2[j]/2;
+            }
+            f.apply(x + h/2, tmp, k3);
+            for (int j = 0; j < dimension; j++) {
+                k3[j] *= h;
+                tmp[j] = y[j] + k3[j];
+            }
+            f.apply(x + h, tmp, k4);
+            for (int j = 0; j < dimension; j++) {
+                y[j] += 1.0/6.0*(k1[j] + 2*k2[j] + 2*k3[j] + h*k4[j]);
+            }
+        };
+    }
+}
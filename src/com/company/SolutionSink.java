@@ -0,0 +1,11 @@
+package com.company;
+
+@FunctionalInterface
+public interface SolutionSink {
+    // Receives the approximation y at the i-th point x, returning false stops the solving
+    boolean accept(int i, double x, double y);
+
+    // Called once after the last accepted point, whether or not the solving was stopped
+    default void end() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.company;
+
+import javax.swing.table.AbstractTableModel;
+
+// Rounds values and finds errors only for the rows which are displayed, nothing is copied from the solutions
+public class SolutionTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"i", "x", "approximated y", "exact y", "total error", "local error"};
+
+    private final double x0;
+    private final double h;
+    private final double[] ys;
+    private final double[] exactYs;
+
+    public SolutionTableModel(double x0, double X, double[] ys, double[] exactYs) {
+        if (ys.length != exactYs.length) {
+            throw new IllegalArgumentException("Approximation and exact solution have different sizes");
+        }
+        this.x0 = x0;
+        this.h = (ys.length > 1) ? (X - x0) / (ys.length - 1) : 0;
+        this.ys = ys;
+        this.exactYs = exactYs;
+    }
+
+    @Override
+    public int getRowCount() {
+        return ys.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case 0: return row;
+            case 1: return Main.round(x0 + row * h);
+            case 2: return Main.round(ys[row]);
+            case 3: return Main.round(exactYs[row]);
+            case 4: return Main.round(totalError(row));
+            case 5: return Main.round((row == 0) ? 0 : Math.abs(totalError(row) - totalError(row - 1)));
+            default: throw new IndexOutOfBoundsException("No column " + column);
+        }
+    }
+
+    private double totalError(int row) {
+        return Math.abs(ys[row] - exactYs[row]);
+    }
+}
@@ -0,0 +1,27 @@
+package com.company;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.company.Solve")
+@Label("Solve")
+@Category("DE-solver")
+@Description("Solution of the equation by one method on a uniform grid")
+class SolveEvent extends jdk.jfr.Event {
+    @Label("Method")
+    String method;
+
+    @Label("Steps")
+    int steps;
+
+    @Label("Evaluations of f")
+    @Description("0 unless the metrics are on")
+    long evaluations;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,60 @@
+package com.company;
+
+// Cost of one solution, steps are the number of grid steps
+public class SolveMetrics {
+    public final String name;
+    public final int steps;
+    public final long evaluations;
+    public final long nanos;
+    // -1 if the JVM can not measure allocations
+    public final long allocatedBytes;
+    // The solution was taken from the cache, the cost is of the solve which computed it
+    public final boolean cached;
+    // Iterations of Parareal and its speedup over the sequential fine solve, 0 and NaN for other methods
+    public final int pararealIterations;
+    public final double pararealSpeedup;
+
+    public SolveMetrics(String name, int steps, long evaluations, long nanos, long allocatedBytes) {
+        this(name, steps, evaluations, nanos, allocatedBytes, 0, Double.NaN, false);
+    }
+
+    public SolveMetrics(String name, int steps, long evaluations, long nanos, long allocatedBytes, PararealSolution parareal) {
+        this(name, steps, evaluations, nanos, allocatedBytes, parareal.iterations, parareal.getSpeedup(), false);
+    }
+
+    private SolveMetrics(String name, int steps, long evaluations, long nanos, long allocatedBytes,
+                         int pararealIterations, double pararealSpeedup, boolean cached) {
+        this.name = name;
+        this.steps = steps;
+        this.evaluations = evaluations;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+        this.pararealIterations = pararealIterations;
+        this.pararealSpeedup = pararealSpeedup;
+        this.cached = cached;
+    }
+
+    public SolveMetrics asCached() {
+        return new SolveMetrics(name, steps, evaluations, nanos, allocatedBytes, pararealIterations, pararealSpeedup, true);
+    }
+
+    public boolean isParareal() {
+        return pararealIterations > 0;
+    }
+
+    public double getEvaluationsPerStep() {
+        return (double)evaluations / steps;
+    }
+
+    public double getNanosPerStep() {
+        return (double)nanos / steps;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s %8.2f evals/step %10.1f ns/step %12d bytes allocated%s%s",
+                name, getEvaluationsPerStep(), getNanosPerStep(), allocatedBytes,
+                isParareal() ? String.format(", %d Parareal iterations, %.2fx speedup", pararealIterations, pararealSpeedup) : "",
+                cached ? " (cached)" : "");
+    }
+}
@@ -0,0 +1,158 @@
+package com.company;
+
+import java.util.Arrays;
+
+public class SolvePipeline {
+
+    public interface Listener extends ConvergenceStudy.Listener {
+        default void exactSolved(double[] exactYs, ContinuousSolution exactCurve) {
+        }
+
+        default void solverSolved(SolverResult result) {
+        }
+
+        @Override
+        default void errorsComputed(int n, double[] errors) {
+        }
+    }
+
+    public static class Result {
+        public final double[] exactYs;
+        public final ContinuousSolution exactCurve;
+        public final SolverResult[] solverResults;
+        // totalErrorsN[s][n-1] is the max error of the s-th solver on the grid of n steps, for n up to the studied N
+        public final double[][] totalErrorsN;
+
+        Result(double[] exactYs, ContinuousSolution exactCurve, SolverResult[] solverResults, double[][] totalErrorsN) {
+            this.exactYs = exactYs;
+            this.exactCurve = exactCurve;
+            this.solverResults = solverResults;
+            this.totalErrorsN = totalErrorsN;
+        }
+    }
+
+    private final SolutionDisplayInfo exactSolverInfo;
+    private final SolutionDisplayInfo[] numericalSolversInfo;
+    private final ConvergenceStudy convergenceStudy;
+    // May be null, then everything is computed every time
+    private final ResultCache cache;
+
+    public SolvePipeline(SolutionDisplayInfo exactSolverInfo, SolutionDisplayInfo[] numericalSolversInfo) {
+        this(exactSolverInfo, numericalSolversInfo, null);
+    }
+
+    public SolvePipeline(SolutionDisplayInfo exactSolverInfo, SolutionDisplayInfo[] numericalSolversInfo, ResultCache cache) {
+        this.exactSolverInfo = exactSolverInfo;
+        this.numericalSolversInfo = numericalSolversInfo.clone();
+        this.convergenceStudy = new ConvergenceStudy(
+                exactSolverInfo.solver,
+                Arrays.stream(numericalSolversInfo).map(info -> info.solver).toArray(DESolver[]::new)
+        );
+        this.cache = cache;
+    }
+
+    public SolutionDisplayInfo getExactSolverInfo() {
+        return exactSolverInfo;
+    }
+
+    public SolutionDisplayInfo[] getNumericalSolversInfo() {
+        return numericalSolversInfo.clone();
+    }
+
+    public Result run(double x0, double y0, double X, int N) {
+        return run(x0, y0, X, N, new Listener() {});
+    }
+
+    // Solutions, errors and the convergence study in the order they are displayed, every part is reported when ready
+    public Result run(double x0, double y0, double X, int N, Listener listener) {
+        return run(x0, y0, X, N, N, listener);
+    }
+
+    // The convergence study takes O(studyN^2) steps, so it may be limited to fewer grids than N or skipped with 0
+    public Result run(double x0, double y0, double X, int N, int studyN, Listener listener) {
+        if (studyN < 0 || studyN > N) throw new IllegalArgumentException("Studied N should be between 0 and N");
+        // Exact solution
+        double[] exactYs = solve(exactSolverInfo, x0, y0, X, N, null);
+        ContinuousSolution exactCurve = exactSolverInfo.solver.denseOutput(x0, y0, X, exactYs);
+        listener.exactSolved(exactYs, exactCurve);
+
+        // Solve using each solver
+        SolverResult[] solverResults = new SolverResult[numericalSolversInfo.length];
+        for (int s = 0; s < numericalSolversInfo.length; s++) {
+            if (listener.isCancelled()) return null;
+            SolveMetrics[] metrics = new SolveMetrics[1];
+            double[] ys = solve(numericalSolversInfo[s], x0, y0, X, N, metrics);
+            ContinuousSolution curve = numericalSolversInfo[s].solver.denseOutput(x0, y0, X, ys);
+            solverResults[s] = new SolverResult(numericalSolversInfo[s], ys, exactYs, metrics[0], curve);
+            listener.solverSolved(solverResults[s]);
+        }
+
+        // Find dependence of error on N for all solvers at once
+        double[][] totalErrorsN;
+        if (studyN == 0) {
+            totalErrorsN = new double[numericalSolversInfo.length][0];
+        } else {
+            totalErrorsN = (cache == null)
+                    ? convergenceStudy.run(x0, y0, X, studyN, listener)
+                    : cache.totalErrors(convergenceStudy, x0, y0, X, studyN, listener);
+        }
+        return new Result(exactYs, exactCurve, solverResults, totalErrorsN);
+    }
+
+    // The cost is measured only when the metrics or the JFR event are on, then it is put to metrics[0] if it is given.
+    // A cached solution is reported with the cost of the solve which computed it, marked as cached
+    private double[] solve(SolutionDisplayInfo info, double x0, double y0, double X, int N, SolveMetrics[] metrics) {
+        if (cache != null) {
+            double[] cached = cache.getSolution(info.solver, x0, y0, X, N);
+            if (cached != null) {
+                SolveMetrics cachedMetrics = cache.getMetrics(info.solver, x0, y0, X, N);
+                if (metrics != null && cachedMetrics != null) {
+                    metrics[0] = cachedMetrics.asCached();
+                }
+                return cached;
+            }
+        }
+
+        SolveEvent event = new SolveEvent();
+        if (!Metrics.ENABLED && !event.isEnabled()) {
+            double[] ys = info.solver.solve(x0, y0, X, N);
+            if (cache != null) {
+                cache.putSolution(info.solver, x0, y0, X, N, ys, null);
+            }
+            return ys;
+        }
+
+        // Evaluations are counted on this thread, so a cancelled study still running in the pool is not counted
+        long evaluations = Metrics.evaluations(info.solver);
+        long allocatedBytes = Metrics.allocatedBytes();
+        event.begin();
+        long start = System.nanoTime();
+        double[] ys = info.solver.solve(x0, y0, X, N);
+        long nanos = System.nanoTime() - start;
+        event.end();
+        evaluations = Metrics.evaluations(info.solver) - evaluations;
+        allocatedBytes = (allocatedBytes < 0) ? -1 : Metrics.allocatedBytes() - allocatedBytes;
+
+        if (event.shouldCommit()) {
+            event.method = info.name;
+            event.steps = N;
+            event.evaluations = evaluations;
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+        SolveMetrics solveMetrics = null;
+        if (Metrics.ENABLED) {
+            // Parareal keeps its iterations and speedup of the solve made on this thread
+            solveMetrics = (info.solver instanceof PararealMethod)
+                    ? new SolveMetrics(info.name, N, evaluations, nanos, allocatedBytes, ((PararealMethod) info.solver).getLastSolution())
+                    : new SolveMetrics(info.name, N, evaluations, nanos, allocatedBytes);
+        }
+        if (metrics != null) {
+            metrics[0] = solveMetrics;
+        }
+        if (cache != null) {
+            cache.putSolution(info.solver, x0, y0, X, N, ys, solveMetrics);
+        }
+        return ys;
+    }
+}
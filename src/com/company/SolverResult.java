@@ -0,0 +1,38 @@
+package com.company;
+
+public class SolverResult {
+    public final SolutionDisplayInfo info;
+    public final double[] ys;
+    public final double[] exactYs;
+    public final double[] totalErrors;
+    public final double[] localErrors;
+    // Null unless the metrics are on
+    public final SolveMetrics metrics;
+    // Null if it was not asked for
+    public final ContinuousSolution curve;
+
+    public SolverResult(SolutionDisplayInfo info, double[] ys, double[] exactYs) {
+        this(info, ys, exactYs, null, null);
+    }
+
+    public SolverResult(SolutionDisplayInfo info, double[] ys, double[] exactYs, SolveMetrics metrics, ContinuousSolution curve) {
+        if (ys.length != exactYs.length) {
+            throw new IllegalArgumentException("Approximation and exact solution have different sizes");
+        }
+        this.info = info;
+        this.ys = ys;
+        this.exactYs = exactYs;
+        this.metrics = metrics;
+        this.curve = curve;
+        this.totalErrors = new double[ys.length];
+        this.localErrors = new double[ys.length];
+        for (int i = 0; i < ys.length; i++) {
+            totalErrors[i] = Math.abs(ys[i] - exactYs[i]);
+            localErrors[i] = (i == 0) ? 0 : Math.abs(totalErrors[i] - totalErrors[i-1]);
+        }
+    }
+
+    public static SolverResult solve(SolutionDisplayInfo info, double x0, double y0, double X, int N, double[] exactYs) {
+        return new SolverResult(info, info.solver.solve(x0, y0, X, N), exactYs);
+    }
+}
@@ -0,0 +1,69 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+public abstract class SystemSolver {
+    protected final DESystem f;
+    protected final int dimension;
+
+    public SystemSolver(DESystem f, int dimension) {
+        if (dimension < 1) throw new IllegalArgumentException("There should be at least one equation");
+        this.f = f;
+        this.dimension = dimension;
+    }
+
+    public SystemSolver(DoubleBinaryOperator f) {
+        this(DESystem.of(f), 1);
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    // Scalar equation is a system of one equation
+    public double[] solve(double x0, double y0, double X, int N) {
+        if (dimension != 1) throw new IllegalStateException("Scalar initial condition for a system of " + dimension + " equations");
+        return solve(x0, new double[]{y0}, X, N);
+    }
+
+    // Returns the states at all N+1 points, the i-th state is at [i*dimension, (i+1)*dimension)
+    public double[] solve(double x0, double[] y0, double X, int N) {
+        double[] ys = new double[(N+1) * dimension];
+        solve(x0, y0, X, N, ys);
+        return ys;
+    }
+
+    public void solve(double x0, double[] y0, double X, int N, double[] ys) {
+        if (y0.length != dimension) throw new IllegalArgumentException("Wrong initial condition size");
+        if (ys.length < (N+1) * dimension) throw new IllegalArgumentException("Wrong output size");
+
+        Stepper stepper = createStepper();
+        double[] y = y0.clone();
+        double h = (X - x0) / N;
+        for (int i = 0, offset = 0; i <= N; i++, offset += dimension) {
+            System.arraycopy(y, 0, ys, offset, dimension);
+            if (i < N) {
+                stepper.step(x0 + i*h, y, h);
+            }
+        }
+    }
+
+    // Integrates in place keeping only the current state, y holds y(X) on return
+    public void integrate(double x0, double[] y, double X, int N) {
+        if (y.length != dimension) throw new IllegalArgumentException("Wrong state size");
+
+        Stepper stepper = createStepper();
+        double h = (X - x0) / N;
+        for (int i = 0; i < N; i++) {
+            stepper.step(x0 + i*h, y, h);
+        }
+    }
+
+    // Created once per solve, so the buffers are never shared between threads
+    protected abstract Stepper createStepper();
+
+    protected interface Stepper {
+        // Replaces y(x) with the approximation of y(x + h) without allocating
+        void step(double x, double[] y, double h);
+    }
+}
@@ -0,0 +1,38 @@
+package com.company;
+
+import javax.swing.table.AbstractTableModel;
+
+// Total errors for each N, rounded only for the rows which are displayed
+public class TotalErrorTableModel extends AbstractTableModel {
+    private final String[] names;
+    // totalErrorsN[s][n-1] is the max error of the s-th solver on the grid of n steps
+    private final double[][] totalErrorsN;
+
+    public TotalErrorTableModel(String[] names, double[][] totalErrorsN) {
+        if (names.length != totalErrorsN.length) {
+            throw new IllegalArgumentException("Wrong number of error series");
+        }
+        this.names = names.clone();
+        this.totalErrorsN = totalErrorsN;
+    }
+
+    @Override
+    public int getRowCount() {
+        return (totalErrorsN.length == 0) ? 0 : totalErrorsN[0].length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return names.length + 1;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return (column == 0) ? "N" : names[column - 1];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return (column == 0) ? (Object)(row + 1) : (Object)Main.round(totalErrorsN[column - 1][row]);
+    }
+}
@@ -0,0 +1,30 @@
+package com.company;
+
+import java.util.function.DoubleBinaryOperator;
+
+// y(i+1) = y(i) + h/2*(f(x(i), y(i)) + f(x(i+1), y(i+1))), second order and A-stable
+public class TrapezoidalMethod extends ImplicitMethod {
+
+    public TrapezoidalMethod(DoubleBinaryOperator f) {
+        super(f);
+    }
+
+    public TrapezoidalMethod(DoubleBinaryOperator f, DoubleBinaryOperator dfdy) {
+        super(f, dfdy);
+    }
+
+    @Override
+    protected double getNextApproximation(double x0, double y0, double xi, double yi, double h) {
+        return step(new Newton(), xi, yi, h);
+    }
+
+    @Override
+    protected Stepper createStepper(double x0, double y0) {
+        Newton newton = new Newton();
+        return (x, y, h) -> step(newton, x, y, h);
+    }
+
+    private double step(Newton newton, double xi, double yi, double h) {
+        return newton.solve(xi + h, yi + h/2*f.applyAsDouble(xi, yi), h/2, yi);
+    }
+}
@@ -0,0 +1,77 @@
+package com.company;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Lane arithmetic of the ensemble solver with the Vector API. Only multiplications and additions in the order
+// of the scalar loops are used, each one rounded as the scalar one, so the results are the same bit for bit.
+// Loaded only when the incubator module is present, see EnsembleSolver
+final class VectorLanes implements EnsembleSolver.Lanes {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // A species of one lane would only add overhead to the plain loops
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    @Override
+    public void multiply(double[] k, double[] h, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, h, j).mul(DoubleVector.fromArray(SPECIES, k, j)).intoArray(k, j);
+        }
+        for (int j = bound; j < n; j++) {
+            k[j] = h[j]*k[j];
+        }
+    }
+
+    @Override
+    public void addScaled(double[] out, double[] y, double c, double[] k, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, y, j).add(DoubleVector.fromArray(SPECIES, k, j).mul(c)).intoArray(out, j);
+        }
+        for (int j = bound; j < n; j++) {
+            out[j] = y[j] + c*k[j];
+        }
+    }
+
+    @Override
+    public void addProduct(double[] out, double[] y, double[] h, double[] k, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector product = DoubleVector.fromArray(SPECIES, h, j).mul(DoubleVector.fromArray(SPECIES, k, j));
+            DoubleVector.fromArray(SPECIES, y, j).add(product).intoArray(out, j);
+        }
+        for (int j = bound; j < n; j++) {
+            out[j] = y[j] + h[j]*k[j];
+        }
+    }
+
+    @Override
+    public void addProductOfSum(double[] y, double[] h, double[] a, double[] b, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, a, j).add(DoubleVector.fromArray(SPECIES, b, j));
+            DoubleVector.fromArray(SPECIES, y, j).add(DoubleVector.fromArray(SPECIES, h, j).mul(sum)).intoArray(y, j);
+        }
+        for (int j = bound; j < n; j++) {
+            y[j] = y[j] + h[j]*(a[j] + b[j]);
+        }
+    }
+
+    @Override
+    public void combineRungeKutta(double[] y, double[] k1, double[] k2, double[] k3, double[] k4, int n) {
+        int bound = SPECIES.loopBound(n);
+        for (int j = 0; j < bound; j += SPECIES.length()) {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, k1, j)
+                    .add(DoubleVector.fromArray(SPECIES, k2, j).mul(2))
+                    .add(DoubleVector.fromArray(SPECIES, k3, j).mul(2))
+                    .add(DoubleVector.fromArray(SPECIES, k4, j));
+            DoubleVector.fromArray(SPECIES, y, j).add(sum.mul(1.0/6.0)).intoArray(y, j);
+        }
+        for (int j = bound; j < n; j++) {
+            y[j] = y[j] + 1.0/6.0*(k1[j] + 2*k2[j] + 2*k3[j] + k4[j]);
+        }
+    }
+}